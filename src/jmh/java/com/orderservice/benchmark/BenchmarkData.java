@@ -0,0 +1,71 @@
+package com.orderservice.benchmark;
+
+import com.orderservice.dto.AddressDTO;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.dto.cart.CartDTO;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.service.OrderAssembler;
+import com.orderservice.util.UuidV7Generator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic inputs shared by the benchmarks: an order of {@code items} lines as it comes out of
+ * checkout, the cart it was built from, and the response the API returns for it.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_000_000);
+
+    private BenchmarkData() {
+    }
+
+    static AddressDTO address() {
+        return AddressDTO.builder()
+                .street("221B Baker Street")
+                .city("Xopix City")
+                .state("XY")
+                .zipCode("12345")
+                .country("USA")
+                .build();
+    }
+
+    static List<CartItemDTO> cartItems(int items) {
+        List<CartItemDTO> cartItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            CartItemDTO item = new CartItemDTO();
+            item.setProductId(UuidV7Generator.nextId());
+            item.setProductName("Product " + i);
+            item.setPrice(new BigDecimal("19.99").add(BigDecimal.valueOf(i)));
+            item.setQuantity(1 + i % 4);
+            cartItems.add(item);
+        }
+        return cartItems;
+    }
+
+    static CartDTO cart(int items) {
+        CartDTO cart = new CartDTO();
+        cart.setId(UuidV7Generator.nextId());
+        cart.setUserId(42L);
+        cart.setCartItems(cartItems(items));
+        cart.setLastModifiedDate(CREATED_AT);
+        return cart;
+    }
+
+    static Orders order(int items) {
+        Orders order = OrderAssembler.newOrder(UuidV7Generator.nextId(), "user1", address(), cartItems(items));
+        order.setStatus(OrderStatus.PROCESSING);
+        order.setCreatedAt(CREATED_AT);
+        order.setUpdatedAt(CREATED_AT.plusMinutes(5));
+        return order;
+    }
+
+    static OrderResponse orderResponse(int items) {
+        return OrderResponse.fromEntity(order(items));
+    }
+}
@@ -0,0 +1,88 @@
+package com.orderservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.dto.OrderResponseJsonSerializer;
+import com.orderservice.dto.cart.CartDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the API response (OrderResponse, written per order) and of the cart-service
+ * payload (CartDTO, read once per checkout), using an ObjectMapper configured the way Spring Boot
+ * configures the application's. {@link #writeOrderResponseReflective} is the default bean
+ * serialization that OrderResponseJsonSerializer replaced, for before/after runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int items;
+
+    private ObjectWriter orderResponseWriter;
+    private ObjectWriter reflectiveOrderResponseWriter;
+    private ObjectWriter cartWriter;
+    private ObjectReader cartReader;
+    private OrderResponse orderResponse;
+    private CartDTO cart;
+    private byte[] cartJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        orderResponseWriter = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new OrderResponseJsonSerializer())
+                .build()
+                .writerFor(OrderResponse.class);
+        reflectiveOrderResponseWriter = objectMapper.writerFor(OrderResponse.class);
+        cartWriter = objectMapper.writerFor(CartDTO.class);
+        cartReader = objectMapper.readerFor(CartDTO.class);
+        orderResponse = BenchmarkData.orderResponse(items);
+        cart = BenchmarkData.cart(items);
+        cartJson = cartWriter.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] writeOrderResponse() throws IOException {
+        return orderResponseWriter.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public byte[] writeOrderResponseReflective() throws IOException {
+        return reflectiveOrderResponseWriter.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public byte[] writeCart() throws IOException {
+        return cartWriter.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public CartDTO readCart() throws IOException {
+        return cartReader.readValue(cartJson);
+    }
+}
@@ -0,0 +1,48 @@
+package com.orderservice.benchmark;
+
+import com.orderservice.dto.AddressDTO;
+import com.orderservice.dto.OrderItemResponse;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.Orders;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The builder- and stream-based OrderResponse.fromEntity as it was before the hand-written
+ * mapping, kept as the "before" side of {@link OrderResponseMappingBenchmark}.
+ */
+final class LegacyOrderResponseMapping {
+
+    private LegacyOrderResponseMapping() {
+    }
+
+    static OrderResponse fromEntity(Orders order) {
+        List<OrderItemResponse> itemResponses = order.getOrderItems().stream()
+                .map(item -> OrderItemResponse.builder()
+                        .productId(item.getProductId())
+                        .productName(item.getProductName())
+                        .quantity(item.getQuantity())
+                        .price(item.getPrice())
+                        .subtotal(item.getSubtotal())
+                        .build())
+                .collect(Collectors.toList());
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .shippingAddress(AddressDTO.builder()
+                        .street(order.getShippingAddress().getStreet())
+                        .city(order.getShippingAddress().getCity())
+                        .state(order.getShippingAddress().getState())
+                        .zipCode(order.getShippingAddress().getZipCode())
+                        .country(order.getShippingAddress().getCountry())
+                        .build())
+                .orderItems(itemResponses)
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.orderservice.benchmark;
+
+import com.orderservice.dto.AddressDTO;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.Orders;
+import com.orderservice.service.OrderAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of createOrder: building the order and its items from the cart, including
+ * the BigDecimal subtotal and total arithmetic. {@link #totalOnly} isolates the arithmetic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderAssemblyBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int items;
+
+    private AddressDTO address;
+    private List<CartItemDTO> cartItems;
+
+    @Setup
+    public void setUp() {
+        address = BenchmarkData.address();
+        cartItems = BenchmarkData.cartItems(items);
+    }
+
+    @Benchmark
+    public Orders newOrder() {
+        return OrderAssembler.newOrder("order-1", "user1", address, cartItems);
+    }
+
+    @Benchmark
+    public BigDecimal totalOnly() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItemDTO cartItem : cartItems) {
+            total = total.add(cartItem.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+        }
+        return total;
+    }
+}
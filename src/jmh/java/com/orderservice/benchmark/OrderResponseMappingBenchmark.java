@@ -0,0 +1,50 @@
+package com.orderservice.benchmark;
+
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.Orders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to API response mapping, done for every order returned by checkout and the read paths.
+ * {@link #legacyFromEntity} is the builder/stream mapping it replaced, for before/after runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderResponseMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int items;
+
+    private Orders order;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(items);
+    }
+
+    @Benchmark
+    public OrderResponse fromEntity() {
+        return OrderResponse.fromEntity(order);
+    }
+
+    @Benchmark
+    public OrderResponse legacyFromEntity() {
+        return LegacyOrderResponseMapping.fromEntity(order);
+    }
+}
@@ -0,0 +1,88 @@
+package com.orderservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orderservice.cache.OrderResponseRedisSerializer;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.dto.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The value serializers configured in RedisConfig: the binary OrderResponse format used by the
+ * order cache (with a JSON encoding of the same value for comparison) and the Jackson
+ * serializer of ProductResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValueSerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int items;
+
+    private OrderResponseRedisSerializer orderSerializer;
+    private Jackson2JsonRedisSerializer<OrderResponse> orderJsonSerializer;
+    private Jackson2JsonRedisSerializer<ProductResponse> productSerializer;
+    private OrderResponse orderResponse;
+    private ProductResponse product;
+    private byte[] orderBytes;
+    private byte[] productBytes;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        orderSerializer = new OrderResponseRedisSerializer();
+        orderJsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, OrderResponse.class);
+        productSerializer = new Jackson2JsonRedisSerializer<>(ProductResponse.class);
+        orderResponse = BenchmarkData.orderResponse(items);
+        product = new ProductResponse(42L, "Product 42", "A product used by the benchmarks",
+                new BigDecimal("19.99"), "https://cdn.xopix.example/products/42.png");
+        orderBytes = orderSerializer.serialize(orderResponse);
+        productBytes = productSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() {
+        return orderSerializer.serialize(orderResponse);
+    }
+
+    @Benchmark
+    public OrderResponse deserializeOrder() {
+        return orderSerializer.deserialize(orderBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderAsJson() {
+        return orderJsonSerializer.serialize(orderResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() {
+        return productSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public ProductResponse deserializeProduct() {
+        return productSerializer.deserialize(productBytes);
+    }
+}
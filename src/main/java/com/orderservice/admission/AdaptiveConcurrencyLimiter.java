@@ -0,0 +1,102 @@
+package com.orderservice.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency, AIMD-style with a Vegas-like latency signal.
+ * <p>
+ * The lowest recent latency is taken as the no-queueing baseline. A call slower than
+ * {@code latencyTolerance} times the baseline means work is queueing somewhere downstream (cart
+ * service, connection pool), as does a call that failed with an overload error: the limit is then
+ * cut by {@code backoffRatio}, at most once per observed latency so one burst of slow completions
+ * counts as one signal. Otherwise, while at least half the limit is in use, it grows by one per
+ * call. The baseline is re-learned every {@code baselineResetSamples} calls, so the limiter
+ * follows the downstream when it gets permanently slower or faster.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final int baselineResetSamples;
+    private final LongSupplier nanoTime;
+
+    private double limit;
+    private int inFlight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long samples;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                                      double backoffRatio, int baselineResetSamples) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, baselineResetSamples, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                               double backoffRatio, int baselineResetSamples, LongSupplier nanoTime) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= initial-limit <= max-limit, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.baselineResetSamples = baselineResetSamples;
+        this.nanoTime = nanoTime;
+        this.lastDecreaseNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes a slot if one is free; never waits. Every successful call must be followed by
+     * exactly one {@link #release(long, boolean)}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param latencyNanos how long the call held its slot
+     * @param overloaded   whether the call failed in a way that signals overload (a timeout, an
+     *                     unavailable downstream) rather than completing
+     */
+    public synchronized void release(long latencyNanos, boolean overloaded) {
+        int inFlightBefore = inFlight--;
+        if (overloaded) {
+            decrease(latencyNanos);
+            return;
+        }
+        if (++samples % baselineResetSamples == 0) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos = Math.min(baselineNanos, latencyNanos);
+        }
+        if (latencyNanos > baselineNanos * latencyTolerance) {
+            decrease(latencyNanos);
+        } else if (inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease(long latencyNanos) {
+        long now = nanoTime.getAsLong();
+        if (now - lastDecreaseNanos >= latencyNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            lastDecreaseNanos = now;
+        }
+    }
+}
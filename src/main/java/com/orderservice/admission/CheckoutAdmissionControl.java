@@ -0,0 +1,126 @@
+package com.orderservice.admission;
+
+import com.orderservice.exception.CheckoutOverloadedException;
+import com.orderservice.exception.CheckoutRateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Load shedding in front of checkout. A checkout is admitted only if the user has a token left in
+ * their bucket ({@link UserRateLimiter}, else 429) and the adaptive concurrency limit has a free
+ * slot ({@link AdaptiveConcurrencyLimiter}, else 503). Neither check waits: under overload, excess
+ * checkouts are turned away in microseconds instead of queueing for cart-service and the
+ * connection pool, which keeps latency for admitted checkouts close to the unloaded latency.
+ * <p>
+ * Admitted checkouts feed their latency back into the limit. Failures with a 4xx status (empty
+ * cart, stale prices) are ordinary completions; anything else counts as an overload signal.
+ */
+@Component
+@Slf4j
+public class CheckoutAdmissionControl {
+
+    private final boolean enabled;
+    private final UserRateLimiter userRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public CheckoutAdmissionControl(MeterRegistry meterRegistry,
+                                    @Value("${xopix.admission.enabled:true}") boolean enabled,
+                                    @Value("${xopix.admission.user.rate-per-second:2}") double userRatePerSecond,
+                                    @Value("${xopix.admission.user.burst:5}") int userBurst,
+                                    @Value("${xopix.admission.user.max-tracked-users:100000}") long maxTrackedUsers,
+                                    @Value("${xopix.admission.concurrency.initial-limit:20}") int initialLimit,
+                                    @Value("${xopix.admission.concurrency.min-limit:4}") int minLimit,
+                                    @Value("${xopix.admission.concurrency.max-limit:200}") int maxLimit,
+                                    @Value("${xopix.admission.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                                    @Value("${xopix.admission.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                    @Value("${xopix.admission.concurrency.baseline-reset-samples:1000}") int baselineResetSamples) {
+        this(meterRegistry, enabled,
+                new UserRateLimiter(userRatePerSecond, userBurst, maxTrackedUsers),
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio,
+                        baselineResetSamples));
+    }
+
+    CheckoutAdmissionControl(MeterRegistry meterRegistry, boolean enabled, UserRateLimiter userRateLimiter,
+                             AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.enabled = enabled;
+        this.userRateLimiter = userRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.admitted = Counter.builder("orders.admission.requests").tag("result", "admitted").register(meterRegistry);
+        this.rateLimited = Counter.builder("orders.admission.requests").tag("result", "rate_limited").register(meterRegistry);
+        this.overloaded = Counter.builder("orders.admission.requests").tag("result", "overloaded").register(meterRegistry);
+        Gauge.builder("orders.admission.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent checkouts")
+                .register(meterRegistry);
+        Gauge.builder("orders.admission.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Checkouts currently admitted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the checkout if it is admitted.
+     *
+     * @throws CheckoutRateLimitedException if the user has used up their checkout rate
+     * @throws CheckoutOverloadedException  if the service is at its concurrency limit
+     */
+    public <T> T admit(String userId, Supplier<T> checkout)
+            throws CheckoutRateLimitedException, CheckoutOverloadedException {
+        if (!enabled) {
+            return checkout.get();
+        }
+        checkRate(userId);
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            log.debug("Checkout for user {} shed at concurrency limit {}", userId, concurrencyLimiter.getLimit());
+            throw new CheckoutOverloadedException("Checkout is over capacity. Retry shortly.");
+        }
+        admitted.increment();
+
+        long start = System.nanoTime();
+        boolean overload = true;
+        try {
+            T result = checkout.get();
+            overload = false;
+            return result;
+        } catch (RuntimeException e) {
+            overload = isOverload(e);
+            throw e;
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start, overload);
+        }
+    }
+
+    /**
+     * Only the per-user rate check, for checkouts that are queued rather than run (their
+     * near-instant latency would mislead the concurrency limit).
+     *
+     * @throws CheckoutRateLimitedException if the user has used up their checkout rate
+     */
+    public void checkRate(String userId) throws CheckoutRateLimitedException {
+        if (!enabled) {
+            return;
+        }
+        Duration retryAfter = userRateLimiter.tryAcquire(userId);
+        if (!retryAfter.isZero()) {
+            rateLimited.increment();
+            log.debug("Checkout for user {} rate limited, next token in {}", userId, retryAfter);
+            throw new CheckoutRateLimitedException("Too many checkouts for user " + userId + ". Retry later.", retryAfter);
+        }
+    }
+
+    private static boolean isOverload(RuntimeException e) {
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        return status == null || status.code().is5xxServerError();
+    }
+}
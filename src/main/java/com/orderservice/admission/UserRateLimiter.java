@@ -0,0 +1,68 @@
+package com.orderservice.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per user: {@code burst} requests at once, refilled at {@code ratePerSecond}.
+ * Buckets are dropped once they would be full again anyway, so memory follows the number of
+ * recently active users (capped at {@code maxUsers}) rather than all users ever seen.
+ */
+public class UserRateLimiter {
+
+    private final double ratePerNano;
+    private final int burst;
+    private final LongSupplier nanoTime;
+    private final Cache<String, TokenBucket> buckets;
+
+    public UserRateLimiter(double ratePerSecond, int burst, long maxUsers) {
+        this(ratePerSecond, burst, maxUsers, System::nanoTime);
+    }
+
+    UserRateLimiter(double ratePerSecond, int burst, long maxUsers, LongSupplier nanoTime) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive, got " + ratePerSecond + " and " + burst);
+        }
+        this.ratePerNano = ratePerSecond / 1_000_000_000.0;
+        this.burst = burst;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(burst / ratePerNano)))
+                .build();
+    }
+
+    /**
+     * Takes a token from the user's bucket.
+     *
+     * @return zero if a token was taken, otherwise how long until the next token is available
+     */
+    public Duration tryAcquire(String userId) {
+        return buckets.get(userId, id -> new TokenBucket(burst, nanoTime.getAsLong())).tryTake();
+    }
+
+    private final class TokenBucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        private synchronized Duration tryTake() {
+            long now = nanoTime.getAsLong();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - tokens) / ratePerNano));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.orderservice.async;
+
+import com.orderservice.dto.OrderRequest;
+
+/**
+ * A validated checkout request waiting in the queue, with the id its order will get.
+ */
+public record AcceptedCheckout(String orderId, String userId, OrderRequest request) {
+}
@@ -0,0 +1,300 @@
+package com.orderservice.async;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.dto.OrderRequest;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.exception.CheckoutOverloadedException;
+import com.orderservice.model.Orders;
+import com.orderservice.service.OrderGroupCommitter;
+import com.orderservice.service.OrderServiceImpl;
+import com.orderservice.util.UuidV7Generator;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchronous checkout: requests are accepted into a bounded in-process queue and answered with
+ * 202 right away, and a few workers turn them into orders in batches. Each worker takes up to
+ * {@code batchSize} queued checkouts, prepares them concurrently (cart fetch, price check,
+ * mapping; across all workers, at most half as many at a time as the cart-service bulkhead
+ * admits) and writes all prepared orders in one transaction ({@link OrderGroupCommitter#writeAll}).
+ * If that transaction fails, its orders are retried one by one, so one bad order does not fail
+ * its batch. Failed checkouts report a {@link CheckoutError} code.
+ * <p>
+ * Back-pressure: when the queue is full, {@link #accept} fails fast with a 503 instead of growing
+ * the backlog. Shutdown: on context close the queue stops accepting, and the workers drain it
+ * before the database is shut down, so every accepted checkout is processed. The queue lives in
+ * memory, so checkouts still queued when the process is killed outright are lost; the status of
+ * a checkout is known on the instance that accepted it until it completes, and from the database
+ * afterwards.
+ */
+@Component
+@Slf4j
+public class AsyncCheckoutProcessor implements SmartLifecycle {
+
+    /**
+     * Stopped after the web server (which has a higher phase), so requests still in flight during
+     * a graceful shutdown can enqueue, and before the datasource is closed.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final OrderServiceImpl orderServiceImpl;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final OrderCache orderCache;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<AcceptedCheckout> queue;
+    private final Semaphore preparations;
+    private final Cache<String, TrackedCheckout> checkouts;
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private List<Thread> workerThreads = List.of();
+
+    public AsyncCheckoutProcessor(OrderServiceImpl orderServiceImpl,
+                                  OrderGroupCommitter orderGroupCommitter,
+                                  OrderCache orderCache,
+                                  Bulkhead cartServiceBulkhead,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${xopix.checkout.async.enabled:false}") boolean enabled,
+                                  @Value("${xopix.checkout.async.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${xopix.checkout.async.workers:4}") int workers,
+                                  @Value("${xopix.checkout.async.batch-size:50}") int batchSize,
+                                  @Value("${xopix.checkout.async.status-retention:PT15M}") Duration statusRetention,
+                                  @Value("${xopix.checkout.async.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.orderServiceImpl = orderServiceImpl;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.orderCache = orderCache;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Shared by all workers, and kept to half of the cart-service bulkhead so queued checkouts
+        // are never rejected by it and leave the other half to synchronous checkouts.
+        int cartCalls = cartServiceBulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        this.preparations = new Semaphore(Math.max(1, cartCalls / 2));
+        this.checkouts = Caffeine.newBuilder().expireAfterWrite(statusRetention).build();
+        this.accepted = Counter.builder("orders.checkout.async.requests").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("orders.checkout.async.requests").tag("result", "rejected").register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.checkout.async.batch").register(meterRegistry);
+        Gauge.builder("orders.checkout.async.queue", queue, BlockingQueue::size)
+                .description("Accepted checkouts waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a checkout without waiting for it.
+     *
+     * @return the checkout, with the id its order will be created with
+     * @throws CheckoutOverloadedException if the queue is full or the service is shutting down
+     */
+    public AcceptedCheckout accept(OrderRequest request, String userId) throws CheckoutOverloadedException {
+        AcceptedCheckout checkout = new AcceptedCheckout(UuidV7Generator.nextId(), userId, request);
+        acceptLock.readLock().lock();
+        try {
+            if (!running) {
+                rejected.increment();
+                throw new CheckoutOverloadedException("Checkout is not accepting orders right now. Retry shortly.");
+            }
+            checkouts.put(checkout.orderId(), new TrackedCheckout(userId, CheckoutState.QUEUED, null));
+            if (!queue.offer(checkout)) {
+                checkouts.invalidate(checkout.orderId());
+                rejected.increment();
+                throw new CheckoutOverloadedException("Checkout queue is full. Retry shortly.");
+            }
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        accepted.increment();
+        return checkout;
+    }
+
+    /**
+     * The state of a checkout this instance accepted, while it is in progress and for the status
+     * retention afterwards.
+     */
+    public Optional<TrackedCheckout> status(String orderId) {
+        return Optional.ofNullable(checkouts.getIfPresent(orderId));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            threads.add(Thread.ofVirtual().name("checkout-worker-" + i).start(this::work));
+        }
+        workerThreads = threads;
+        log.info("Async checkout started: {} workers, batches of up to {}", workers, batchSize);
+    }
+
+    /**
+     * Stops accepting checkouts and waits, up to the shutdown timeout, until the workers have
+     * processed everything already accepted.
+     */
+    @Override
+    public void stop() {
+        acceptLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        log.info("Async checkout stopping, draining {} queued checkouts", queue.size());
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread worker : workerThreads) {
+            try {
+                if (!worker.join(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!queue.isEmpty()) {
+            List<String> orderIds = queue.stream().map(AcceptedCheckout::orderId).toList();
+            log.error("Async checkout did not drain within {}; {} accepted checkouts were not processed: {}",
+                    shutdownTimeout, orderIds.size(), orderIds);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void work() {
+        while (true) {
+            AcceptedCheckout first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return; // stopped and drained
+                }
+                continue;
+            }
+            List<AcceptedCheckout> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                batchTimer.record(() -> process(batch));
+            } catch (RuntimeException e) {
+                // Not expected (failures are handled per checkout); keep the worker alive regardless.
+                log.error("Async checkout batch of {} failed", batch.size(), e);
+                batch.forEach(checkout -> fail(checkout.orderId(), checkout.userId(), e));
+            }
+        }
+    }
+
+    private void process(List<AcceptedCheckout> batch) {
+        for (AcceptedCheckout checkout : batch) {
+            checkouts.put(checkout.orderId(), new TrackedCheckout(checkout.userId(), CheckoutState.PROCESSING, null));
+        }
+
+        // Cart fetches are I/O bound: run them side by side rather than one after another, but
+        // never more at once (across all workers) than the preparation permits allow.
+        List<Orders> prepared = new ArrayList<>(batch.size());
+        try (ExecutorService preparation = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Orders>> futures = new ArrayList<>(batch.size());
+            for (AcceptedCheckout checkout : batch) {
+                futures.add(preparation.submit(() -> {
+                    preparations.acquire();
+                    try {
+                        return orderServiceImpl.prepareOrder(checkout.orderId(), checkout.request(), checkout.userId());
+                    } finally {
+                        preparations.release();
+                    }
+                }));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                AcceptedCheckout checkout = batch.get(i);
+                try {
+                    prepared.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    fail(checkout.orderId(), checkout.userId(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(checkout.orderId(), checkout.userId(), e);
+                }
+            }
+        }
+        if (!prepared.isEmpty()) {
+            persist(prepared);
+        }
+    }
+
+    private void persist(List<Orders> orders) {
+        List<CompletableFuture<Orders>> results = orderGroupCommitter.writeAll(orders);
+        for (int i = 0; i < orders.size(); i++) {
+            Orders order = orders.get(i);
+            try {
+                complete(results.get(i).join());
+            } catch (CompletionException e) {
+                fail(order.getId(), order.getUserId(), e.getCause());
+            }
+        }
+    }
+
+    private void complete(Orders order) {
+        orderCache.put(OrderResponse.fromEntity(order));
+        checkouts.put(order.getId(), new TrackedCheckout(order.getUserId(), CheckoutState.COMPLETED, null));
+        log.info("Order {} created asynchronously for user {}", order.getId(), order.getUserId());
+    }
+
+    private void fail(String orderId, String userId, Throwable cause) {
+        checkouts.put(orderId, new TrackedCheckout(userId, CheckoutState.FAILED, CheckoutError.of(cause)));
+        log.warn("Async checkout of order {} for user {} failed: {}", orderId, userId, cause.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.orderservice.async;
+
+import com.orderservice.exception.CartEmptyException;
+import com.orderservice.exception.CartNotFoundException;
+import com.orderservice.exception.CartPriceMismatchException;
+import com.orderservice.exception.CartServiceUnavailableException;
+
+/**
+ * Why an asynchronous checkout failed, as reported to clients. Exception messages stay in the
+ * logs; clients get one of these stable codes.
+ */
+public enum CheckoutError {
+    CART_NOT_FOUND,
+    CART_EMPTY,
+    CART_PRICE_CHANGED,
+    CART_SERVICE_UNAVAILABLE,
+    ORDER_NOT_SAVED;
+
+    public static CheckoutError of(Throwable cause) {
+        return switch (cause) {
+            case CartNotFoundException e -> CART_NOT_FOUND;
+            case CartEmptyException e -> CART_EMPTY;
+            case CartPriceMismatchException e -> CART_PRICE_CHANGED;
+            case CartServiceUnavailableException e -> CART_SERVICE_UNAVAILABLE;
+            default -> ORDER_NOT_SAVED;
+        };
+    }
+}
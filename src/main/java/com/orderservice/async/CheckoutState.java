@@ -0,0 +1,11 @@
+package com.orderservice.async;
+
+/**
+ * Progress of a checkout accepted for asynchronous processing.
+ */
+public enum CheckoutState {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
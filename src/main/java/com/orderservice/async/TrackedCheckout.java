@@ -0,0 +1,9 @@
+package com.orderservice.async;
+
+/**
+ * Where an accepted checkout is, as seen by the instance that accepted it.
+ *
+ * @param error why the checkout failed; null unless {@code state} is FAILED
+ */
+public record TrackedCheckout(String userId, CheckoutState state, CheckoutError error) {
+}
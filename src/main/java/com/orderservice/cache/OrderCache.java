@@ -0,0 +1,163 @@
+package com.orderservice.cache;
+
+import com.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link OrderResponse} by order id, backed by Redis with a TTL.
+ * Redis problems never fail a request: they are logged, counted and treated as a miss.
+ * <p>
+ * Evictions are repeated after {@code re-evict-delay}. A reader that missed the cache and loaded
+ * an order just before a status change committed puts the old status back after the first
+ * eviction; the second one removes it, so it is served for at most the delay instead of the whole
+ * TTL. A reader that takes longer than the delay between its load and its put can still cache the
+ * old status until the TTL expires.
+ */
+@Component
+@Slf4j
+public class OrderCache {
+
+    private static final String ORDER_CACHE_KEY_PREFIX = "order::";
+
+    private final RedisTemplate<String, OrderResponse> orderResponseRedisTemplate;
+    private final RedisBatchOperations<OrderResponse> batch;
+    private final Duration ttl;
+    private final TaskScheduler taskScheduler;
+    private final Duration reEvictDelay;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    public OrderCache(RedisTemplate<String, OrderResponse> orderResponseRedisTemplate,
+                      MeterRegistry meterRegistry,
+                      TaskScheduler taskScheduler,
+                      @Value("${xopix.cache.orders.ttl:PT10M}") Duration ttl,
+                      @Value("${xopix.cache.orders.re-evict-delay:PT1S}") Duration reEvictDelay) {
+        this.orderResponseRedisTemplate = orderResponseRedisTemplate;
+        this.batch = new RedisBatchOperations<>(orderResponseRedisTemplate, ORDER_CACHE_KEY_PREFIX);
+        this.ttl = ttl;
+        this.taskScheduler = taskScheduler;
+        this.reEvictDelay = reEvictDelay;
+        this.hits = Counter.builder("orders.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("orders.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.errors = Counter.builder("orders.cache.errors").register(meterRegistry);
+    }
+
+    public Optional<OrderResponse> get(String orderId) {
+        try {
+            OrderResponse cached = orderResponseRedisTemplate.opsForValue().get(key(orderId));
+            (cached != null ? hits : misses).increment();
+            return Optional.ofNullable(cached);
+        } catch (RuntimeException e) {
+            errors.increment();
+            misses.increment();
+            log.warn("Order cache read failed for order {}: {}", orderId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Cached orders among {@code orderIds}, fetched with a single MGET; missing ids are absent
+     * from the result.
+     */
+    public Map<String, OrderResponse> getAll(List<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<String, OrderResponse> found = batch.getAll(orderIds);
+            hits.increment(found.size());
+            misses.increment(orderIds.size() - found.size());
+            return found;
+        } catch (RuntimeException e) {
+            errors.increment();
+            misses.increment(orderIds.size());
+            log.warn("Order cache read failed for {} orders: {}", orderIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    public void put(OrderResponse order) {
+        try {
+            orderResponseRedisTemplate.opsForValue().set(key(order.getId()), order, ttl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Order cache write failed for order {}: {}", order.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Caches all orders in one pipelined round trip, each with the cache TTL.
+     */
+    public void putAll(Collection<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<String, OrderResponse> byId = HashMap.newHashMap(orders.size());
+        for (OrderResponse order : orders) {
+            byId.put(order.getId(), order);
+        }
+        try {
+            batch.setAll(byId, ttl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Order cache write failed for {} orders: {}", orders.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the order now and again after {@code re-evict-delay}; call it after the change commits.
+     */
+    public void evict(String orderId) {
+        delete(orderId);
+        taskScheduler.schedule(() -> delete(orderId), Instant.now().plus(reEvictDelay));
+    }
+
+    /**
+     * Removes the orders now and again after {@code re-evict-delay}; call it after the change commits.
+     */
+    public void evictAll(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(orderIds);
+        deleteAll(ids);
+        taskScheduler.schedule(() -> deleteAll(ids), Instant.now().plus(reEvictDelay));
+    }
+
+    private void delete(String orderId) {
+        try {
+            orderResponseRedisTemplate.delete(key(orderId));
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Order cache eviction failed for order {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    private void deleteAll(List<String> orderIds) {
+        try {
+            batch.deleteAll(orderIds);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Order cache eviction failed for {} orders: {}", orderIds.size(), e.getMessage());
+        }
+    }
+
+    private String key(String orderId) {
+        return batch.key(orderId);
+    }
+}
@@ -0,0 +1,163 @@
+package com.orderservice.cache;
+
+import com.orderservice.dto.AddressDTO;
+import com.orderservice.dto.OrderItemResponse;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.OrderStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of {@link OrderResponse} for Redis.
+ * Field order is fixed and prefixed by a format version; bump {@link #FORMAT_VERSION} on any
+ * layout change so entries written by older instances are treated as cache misses.
+ * Compared to Jackson JSON this avoids field names, reflection and text number formatting.
+ */
+public class OrderResponseRedisSerializer implements RedisSerializer<OrderResponse> {
+
+    static final byte FORMAT_VERSION = 1;
+
+    @Override
+    public byte[] serialize(OrderResponse order) throws SerializationException {
+        if (order == null) {
+            return null;
+        }
+        List<OrderItemResponse> items = order.getOrderItems() == null ? List.of() : order.getOrderItems();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + items.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, order.getId());
+            writeString(out, order.getUserId());
+            writeString(out, order.getStatus() == null ? null : order.getStatus().name());
+            writeDecimal(out, order.getTotalAmount());
+
+            AddressDTO address = order.getShippingAddress();
+            out.writeBoolean(address != null);
+            if (address != null) {
+                writeString(out, address.getStreet());
+                writeString(out, address.getCity());
+                writeString(out, address.getState());
+                writeString(out, address.getZipCode());
+                writeString(out, address.getCountry());
+            }
+
+            out.writeInt(items.size());
+            for (OrderItemResponse item : items) {
+                writeString(out, item.getProductId());
+                writeString(out, item.getProductName());
+                out.writeInt(item.getQuantity());
+                writeDecimal(out, item.getPrice());
+                writeDecimal(out, item.getSubtotal());
+            }
+
+            writeDateTime(out, order.getCreatedAt());
+            writeDateTime(out, order.getUpdatedAt());
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize order " + order.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public OrderResponse deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new SerializationException("Unsupported order cache format version " + version);
+            }
+            String id = readString(in);
+            String userId = readString(in);
+            String status = readString(in);
+            BigDecimal totalAmount = readDecimal(in);
+
+            AddressDTO address = null;
+            if (in.readBoolean()) {
+                address = AddressDTO.builder()
+                        .street(readString(in))
+                        .city(readString(in))
+                        .state(readString(in))
+                        .zipCode(readString(in))
+                        .country(readString(in))
+                        .build();
+            }
+
+            int itemCount = in.readInt();
+            List<OrderItemResponse> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(OrderItemResponse.builder()
+                        .productId(readString(in))
+                        .productName(readString(in))
+                        .quantity(in.readInt())
+                        .price(readDecimal(in))
+                        .subtotal(readDecimal(in))
+                        .build());
+            }
+
+            return new OrderResponse(id, userId, status == null ? null : OrderStatus.valueOf(status),
+                    totalAmount, address, items, readDateTime(in), readDateTime(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not deserialize cached order", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeByte(value.scale());
+            out.writeByte(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readByte();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
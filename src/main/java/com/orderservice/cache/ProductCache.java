@@ -0,0 +1,146 @@
+package com.orderservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orderservice.client.ProductServiceGateway;
+import com.orderservice.dto.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Two-tier product cache: a bounded in-process Caffeine cache (L1) over Redis (L2) over the
+ * product service. A lookup of any number of products costs at most one Redis MGET, one product
+ * service call and one pipelined Redis write-back, and nothing at all when L1 has them.
+ * <p>
+ * Loading is single-flight: Caffeine keeps one in-flight load per product, so concurrent
+ * checkouts of a hot product wait for the same load instead of all hitting Redis and the product
+ * service. L1 entries live briefly (price changes reach checkout within the L1 TTL); L2 entries
+ * live longer and also serve as the fallback while the product service is unavailable.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private static final String PRODUCT_CACHE_KEY_PREFIX = "product::";
+
+    private final RedisBatchOperations<ProductResponse> redis;
+    private final ProductServiceGateway productServiceGateway;
+    private final AsyncCache<String, ProductResponse> local;
+    private final Duration redisTtl;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter errors;
+
+    public ProductCache(RedisTemplate<String, ProductResponse> productResponseRedisTemplate,
+                        ProductServiceGateway productServiceGateway,
+                        MeterRegistry meterRegistry,
+                        @Value("${xopix.cache.products.local.max-size:10000}") long localMaxSize,
+                        @Value("${xopix.cache.products.local.ttl:PT30S}") Duration localTtl,
+                        @Value("${xopix.cache.products.ttl:PT10M}") Duration redisTtl) {
+        this.redis = new RedisBatchOperations<>(productResponseRedisTemplate, PRODUCT_CACHE_KEY_PREFIX);
+        this.productServiceGateway = productServiceGateway;
+        this.redisTtl = redisTtl;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "products.local");
+        this.redisHits = Counter.builder("products.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("products.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.errors = Counter.builder("products.cache.errors").register(meterRegistry);
+    }
+
+    /**
+     * Products for the given ids. Unknown products are absent from the result; so are products
+     * that could not be loaded at all, which {@link ProductLookup#complete()} reports.
+     */
+    public ProductLookup getAll(Collection<String> productIds) {
+        Set<String> ids = new LinkedHashSet<>(productIds);
+        try {
+            // Loads run on the calling thread; concurrent callers join the in-flight load.
+            Map<String, ProductResponse> products = local.getAll(ids, (missing, executor) -> {
+                try {
+                    return CompletableFuture.completedFuture(load(missing));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }).join();
+            return new ProductLookup(products, true);
+        } catch (CompletionException e) {
+            log.warn("Product service lookup of {} products failed, using Redis only: {}", ids.size(),
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return new ProductLookup(fromRedis(ids), false);
+        }
+    }
+
+    /**
+     * L1 bulk loader: Redis first, then the product service for whatever Redis lacks.
+     */
+    private Map<String, ProductResponse> load(Set<? extends String> productIds) {
+        Map<String, ProductResponse> found = fromRedis(productIds);
+        List<String> missing = new ArrayList<>(productIds.size() - found.size());
+        for (String productId : productIds) {
+            if (!found.containsKey(productId)) {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, ProductResponse> loaded = HashMap.newHashMap(missing.size());
+            for (ProductResponse product : productServiceGateway.getProductsByIds(missing)) {
+                loaded.put(String.valueOf(product.getProductId()), product);
+            }
+            writeToRedis(loaded);
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    private Map<String, ProductResponse> fromRedis(Collection<? extends String> productIds) {
+        List<String> ids = List.copyOf(productIds);
+        try {
+            Map<String, ProductResponse> found = redis.getAll(ids);
+            redisHits.increment(found.size());
+            redisMisses.increment(ids.size() - found.size());
+            return found;
+        } catch (RuntimeException e) {
+            errors.increment();
+            redisMisses.increment(ids.size());
+            log.warn("Product cache read failed for {} products: {}", ids.size(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void writeToRedis(Map<String, ProductResponse> products) {
+        try {
+            redis.setAll(products, redisTtl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Product cache write failed for {} products: {}", products.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * @param products found products by id
+     * @param complete false when the product service could not be asked, so an absent product
+     *                 may exist after all
+     */
+    public record ProductLookup(Map<String, ProductResponse> products, boolean complete) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.orderservice.cache;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key access to one Redis keyspace ({@code prefix + id}), costing one round trip per call
+ * whatever the number of keys:
+ * <ul>
+ *     <li>reads are a single MGET;</li>
+ *     <li>writes are SET ... EX commands sent in one pipeline, so every value gets its expiry in
+ *     the same round trip (MSET cannot set one);</li>
+ *     <li>deletes are a single DEL.</li>
+ * </ul>
+ * Errors are not handled here: callers decide whether a Redis problem is a miss or a failure.
+ */
+public class RedisBatchOperations<V> {
+
+    private final RedisTemplate<String, V> redisTemplate;
+    private final String keyPrefix;
+
+    public RedisBatchOperations(RedisTemplate<String, V> redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Cached values among {@code ids}; missing ids are absent from the result.
+     */
+    public Map<String, V> getAll(List<String> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<V> cached = redisTemplate.opsForValue().multiGet(keys(ids));
+        Map<String, V> found = HashMap.newHashMap(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            V value = cached != null ? cached.get(i) : null;
+            if (value != null) {
+                found.put(ids.get(i), value);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores all values, each with {@code ttl}, in one pipeline.
+     */
+    public void setAll(Map<String, V> valuesById, Duration ttl) {
+        if (valuesById.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, T> Object execute(RedisOperations<K, T> operations) throws DataAccessException {
+                RedisOperations<String, V> redis = (RedisOperations<String, V>) operations;
+                valuesById.forEach((id, value) -> redis.opsForValue().set(key(id), value, ttl));
+                return null;
+            }
+        });
+    }
+
+    public void deleteAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        redisTemplate.delete(keys(ids));
+    }
+
+    public String key(String id) {
+        return keyPrefix + id;
+    }
+
+    private List<String> keys(Collection<String> ids) {
+        return ids.stream().map(this::key).toList();
+    }
+}
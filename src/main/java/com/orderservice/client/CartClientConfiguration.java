@@ -0,0 +1,18 @@
+package com.orderservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.codec.Decoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign configuration for {@link CartServiceClient} only (deliberately not a {@code @Configuration},
+ * so it is not picked up for other clients). The HTTP transport itself is chosen by the
+ * {@code spring.cloud.openfeign.httpclient.*} / {@code http2client} properties.
+ */
+public class CartClientConfiguration {
+
+    @Bean
+    public Decoder cartServiceDecoder(ObjectMapper objectMapper) {
+        return new StreamingJacksonDecoder(objectMapper);
+    }
+}
@@ -5,7 +5,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-@FeignClient(name = "cart-service", url = "${xopix.services.cart.url}")
+@FeignClient(name = "cart-service", url = "${xopix.services.cart.url}", configuration = CartClientConfiguration.class)
 public interface CartServiceClient {
 
 
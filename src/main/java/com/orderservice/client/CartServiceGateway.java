@@ -0,0 +1,60 @@
+package com.orderservice.client;
+
+import com.orderservice.dto.cart.CartDTO;
+import com.orderservice.exception.CartServiceUnavailableException;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Protected entry point to the cart service: retry, circuit breaker and bulkhead around
+ * {@link CartServiceClient}, with connect/read timeouts configured on the Feign client itself.
+ * When the cart service is slow or down, checkouts fail fast with
+ * {@link CartServiceUnavailableException} (503) instead of piling up request threads.
+ * A 404 from the cart service is passed through untouched as {@link FeignException.NotFound}.
+ */
+@Component
+@Slf4j
+public class CartServiceGateway {
+
+    private final CartServiceClient cartServiceClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+
+    public CartServiceGateway(CartServiceClient cartServiceClient,
+                              CircuitBreaker cartServiceCircuitBreaker,
+                              Bulkhead cartServiceBulkhead,
+                              Retry cartServiceRetry) {
+        this.cartServiceClient = cartServiceClient;
+        this.circuitBreaker = cartServiceCircuitBreaker;
+        this.bulkhead = cartServiceBulkhead;
+        this.retry = cartServiceRetry;
+    }
+
+    public CartDTO getCartById(String cartId) {
+        // Same nesting as the Resilience4j Spring aspects: Retry(CircuitBreaker(Bulkhead(call))).
+        Supplier<CartDTO> call = () -> cartServiceClient.getCartById(cartId);
+        Supplier<CartDTO> protectedCall = Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                        Bulkhead.decorateSupplier(bulkhead, call)));
+        try {
+            return protectedCall.get();
+        } catch (FeignException.FeignClientException e) {
+            throw e; // 4xx: the caller decides (e.g. 404 -> CartNotFoundException)
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Cart service call for cart {} rejected: {}", cartId, e.getMessage());
+            throw new CartServiceUnavailableException("Cart service is temporarily unavailable. Please retry shortly.", e);
+        } catch (FeignException e) {
+            log.warn("Cart service call for cart {} failed: {}", cartId, e.getMessage());
+            throw new CartServiceUnavailableException("Cart service is temporarily unavailable. Please retry shortly.", e);
+        }
+    }
+}
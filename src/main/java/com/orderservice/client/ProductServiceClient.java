@@ -0,0 +1,27 @@
+package com.orderservice.client;
+
+import com.orderservice.dto.ProductResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Product catalog lookups, used to check cart prices at checkout. Not the primary bean, so the
+ * local stub ({@code xopix.services.product.stub.enabled}) can take its place. Called only
+ * through {@link ProductServiceGateway}.
+ * <p>
+ * The batch endpoint is the contract this service expects; product-service does not serve it
+ * yet, which is why price validation is off by default.
+ */
+@FeignClient(name = "product-service", url = "${xopix.services.product.url}", primary = false)
+public interface ProductServiceClient {
+
+    /**
+     * The products among {@code productIds} that exist; unknown ids are left out.
+     */
+    @RequestMapping(value = "/api/products/batch")
+    List<ProductResponse> getProductsByIds(@RequestParam("ids") Collection<String> productIds);
+}
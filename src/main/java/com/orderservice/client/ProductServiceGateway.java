@@ -0,0 +1,41 @@
+package com.orderservice.client;
+
+import com.orderservice.dto.ProductResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Protected entry point to the product service: circuit breaker and bulkhead around
+ * {@link ProductServiceClient}, with short connect/read timeouts configured on the Feign client.
+ * There is no retry: checkout does not wait for the catalog, {@code ProductCache} falls back to
+ * Redis and lets unverifiable lines through. Failures and rejections
+ * ({@code CallNotPermittedException}, {@code BulkheadFullException}) reach the caller as they are.
+ */
+@Component
+public class ProductServiceGateway {
+
+    private final ProductServiceClient productServiceClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ProductServiceGateway(ProductServiceClient productServiceClient,
+                                 CircuitBreaker productServiceCircuitBreaker,
+                                 Bulkhead productServiceBulkhead) {
+        this.productServiceClient = productServiceClient;
+        this.circuitBreaker = productServiceCircuitBreaker;
+        this.bulkhead = productServiceBulkhead;
+    }
+
+    /**
+     * The products among {@code productIds} that exist; unknown ids are left out.
+     */
+    public List<ProductResponse> getProductsByIds(Collection<String> productIds) {
+        Supplier<List<ProductResponse>> call = () -> productServiceClient.getProductsByIds(productIds);
+        return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call)).get();
+    }
+}
@@ -0,0 +1,43 @@
+package com.orderservice.client;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feign decoder that binds the response body stream straight into the target type with a cached
+ * {@link ObjectReader}: no intermediate JsonNode tree, no String/byte[] copy of the body and no
+ * HttpMessageConverter lookup per call.
+ */
+public class StreamingJacksonDecoder implements Decoder {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public StreamingJacksonDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.status() == 204 || response.body() == null) {
+            return Util.emptyValueOf(type);
+        }
+        ObjectReader reader = readers.computeIfAbsent(type, t -> objectMapper.readerFor(objectMapper.constructType(t)));
+        try (InputStream body = response.body().asInputStream()) {
+            return reader.readValue(body);
+        } catch (JacksonException e) {
+            throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+        }
+    }
+}
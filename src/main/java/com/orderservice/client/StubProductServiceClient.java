@@ -0,0 +1,51 @@
+package com.orderservice.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.dto.ProductResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Product service stand-in for local development, serving a fixed catalog read from a JSON array
+ * of products. Add the products your local carts use, or their checkouts are rejected as
+ * containing unknown products.
+ */
+public class StubProductServiceClient implements ProductServiceClient {
+
+    private final Map<String, ProductResponse> products;
+
+    public StubProductServiceClient(List<ProductResponse> products) {
+        this.products = products.stream()
+                .collect(Collectors.toUnmodifiableMap(product -> String.valueOf(product.getProductId()), Function.identity()));
+    }
+
+    public static StubProductServiceClient fromJson(Resource catalog, ObjectMapper objectMapper) {
+        try (InputStream in = catalog.getInputStream()) {
+            return new StubProductServiceClient(objectMapper.readValue(in, new TypeReference<List<ProductResponse>>() { }));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stub product catalog " + catalog, e);
+        }
+    }
+
+    @Override
+    public List<ProductResponse> getProductsByIds(Collection<String> productIds) {
+        List<ProductResponse> found = new ArrayList<>(productIds.size());
+        for (String productId : productIds) {
+            ProductResponse product = products.get(productId);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+}
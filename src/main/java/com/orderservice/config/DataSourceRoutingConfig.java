@@ -0,0 +1,89 @@
+package com.orderservice.config;
+
+import com.orderservice.datasource.DataSourceRoutingProperties;
+import com.orderservice.datasource.MySqlReplicaLagProbe;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.datasource.ReplicaLagMonitor;
+import com.orderservice.datasource.ReplicaPools;
+import com.orderservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Primary/replica routing, enabled with {@code xopix.datasource.routing.enabled=true}. Replaces
+ * Boot's single DataSource with a lazy proxy over a {@link ReplicaRoutingDataSource}, so
+ * {@code @Transactional(readOnly = true)} work is served by replicas and writes by the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "xopix.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceRoutingProperties routing,
+                                     HikariDataSource primaryDataSource,
+                                     MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < routing.replicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routing.replicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(replica.name() != null ? replica.name() : "replica-" + i);
+            pool.setDriverClassName(primaryDataSource.getDriverClassName());
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(replica.maximumPoolSize() != null
+                    ? replica.maximumPoolSize() : primaryDataSource.getMaximumPoolSize());
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaPools(replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPools replicaPools, DataSourceRoutingProperties routing) {
+        return new ReplicaLagMonitor(replicaPools.dataSources(), new MySqlReplicaLagProbe(), routing.maxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaPools replicaPools,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaPools.dataSources(),
+                replicaLagMonitor, readYourWritesTracker, DataSourceRoutingConfig::currentUserId, meterRegistry);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.orderservice.config;
+
+import com.orderservice.client.CartServiceClient;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feign client registration lives here rather than on the application class so that
+ * test slices (e.g. @DataJpaTest) do not try to build HTTP clients.
+ */
+@Configuration
+@EnableFeignClients(basePackageClasses = CartServiceClient.class)
+public class FeignClientConfig {
+}
@@ -0,0 +1,23 @@
+package com.orderservice.config;
+
+import com.orderservice.idempotency.IdempotencyStore;
+import com.orderservice.idempotency.InMemoryIdempotencyStore;
+import com.orderservice.idempotency.RedisIdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(@Value("${xopix.idempotency.store:redis}") String store,
+                                             StringRedisTemplate stringRedisTemplate) {
+        InMemoryIdempotencyStore inMemoryStore = new InMemoryIdempotencyStore();
+        if ("memory".equalsIgnoreCase(store)) {
+            return inMemoryStore;
+        }
+        return new RedisIdempotencyStore(stringRedisTemplate, inMemoryStore);
+    }
+}
@@ -0,0 +1,27 @@
+package com.orderservice.config;
+
+import com.orderservice.outbox.FileOrderEventSink;
+import com.orderservice.outbox.InMemoryOrderEventSink;
+import com.orderservice.outbox.LoggingOrderEventSink;
+import com.orderservice.outbox.OrderEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    @Bean
+    public OrderEventSink orderEventSink(@Value("${xopix.outbox.sink:log}") String sink,
+                                         @Value("${xopix.outbox.file:order-events.ndjson}") Path file) {
+        return switch (sink.toLowerCase()) {
+            case "file" -> new FileOrderEventSink(file);
+            case "memory" -> new InMemoryOrderEventSink();
+            default -> new LoggingOrderEventSink();
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.client.ProductServiceClient;
+import com.orderservice.client.StubProductServiceClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+
+/**
+ * With {@code xopix.services.product.stub.enabled=true}, checkout prices are validated against a
+ * local JSON catalog instead of a running product service.
+ */
+@Configuration
+public class ProductClientConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "xopix.services.product.stub.enabled", havingValue = "true")
+    public ProductServiceClient stubProductServiceClient(
+            ObjectMapper objectMapper,
+            @Value("${xopix.services.product.stub.catalog:classpath:stub/products.json}") Resource catalog) {
+        return StubProductServiceClient.fromJson(catalog, objectMapper);
+    }
+}
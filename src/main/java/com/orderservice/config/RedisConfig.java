@@ -1,10 +1,15 @@
 package com.orderservice.config;
 
+import com.orderservice.cache.OrderResponseRedisSerializer;
 import com.orderservice.dto.OrderResponse;
 import com.orderservice.dto.ProductResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -12,6 +17,26 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Configuration
 public class RedisConfig {
 
+    /**
+     * Lettuce flushes every command of a pipeline to the socket on its own by default. Buffering
+     * them lets a multi-key write (see RedisBatchOperations) leave in a few writes instead of one
+     * per key; replies are still read as they arrive.
+     */
+    @Bean
+    public static BeanPostProcessor lettucePipeliningFlushPolicy(
+            @Value("${xopix.redis.pipeline.flush-after-commands:100}") int flushAfterCommands) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory connectionFactory) {
+                    connectionFactory.setPipeliningFlushPolicy(
+                            LettuceConnection.PipeliningFlushPolicy.buffered(flushAfterCommands));
+                }
+                return bean;
+            }
+        };
+    }
+
     @Bean
     public RedisTemplate<String, ProductResponse> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
         RedisTemplate<String, ProductResponse> productResponseRedisTemplate =
@@ -23,4 +48,16 @@ public class RedisConfig {
 
         return productResponseRedisTemplate;
     }
+
+    @Bean
+    public RedisTemplate<String, OrderResponse> orderResponseRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, OrderResponse> orderResponseRedisTemplate =
+                new RedisTemplate<>();
+
+        orderResponseRedisTemplate.setConnectionFactory(redisConnectionFactory);
+        orderResponseRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        orderResponseRedisTemplate.setValueSerializer(new OrderResponseRedisSerializer());
+
+        return orderResponseRedisTemplate;
+    }
 }
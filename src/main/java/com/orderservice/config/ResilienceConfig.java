@@ -0,0 +1,127 @@
+package com.orderservice.config;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Resilience4j policies for calls to the cart and product services. Each policy lives in its own registry so
+ * the tagged Micrometer binders export per-instance metrics, e.g.
+ * {@code resilience4j.circuitbreaker.state{name="cart-service",state="open"}}.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    public static final String CART_SERVICE = "cart-service";
+    public static final String PRODUCT_SERVICE = "product-service";
+
+    @Bean
+    public CircuitBreaker cartServiceCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${xopix.resilience.cart.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${xopix.resilience.cart.slow-call-duration:PT1S}") Duration slowCallDuration,
+            @Value("${xopix.resilience.cart.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${xopix.resilience.cart.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${xopix.resilience.cart.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${xopix.resilience.cart.wait-in-open-state:PT10S}") Duration waitInOpenState,
+            @Value("${xopix.resilience.cart.permitted-calls-in-half-open-state:5}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                // A 4xx means the cart service answered correctly; it must not open the circuit.
+                .ignoreExceptions(FeignException.FeignClientException.class)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(CART_SERVICE);
+    }
+
+    @Bean
+    public Bulkhead cartServiceBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${xopix.resilience.cart.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${xopix.resilience.cart.bulkhead.max-wait:PT0S}") Duration maxWait) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(CART_SERVICE);
+    }
+
+    @Bean
+    public Retry cartServiceRetry(
+            MeterRegistry meterRegistry,
+            @Value("${xopix.resilience.cart.retry.max-attempts:2}") int maxAttempts,
+            @Value("${xopix.resilience.cart.retry.wait:PT0.1S}") Duration wait) {
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .waitDuration(wait)
+                // Only transport failures and 5xx are worth retrying; 4xx and fast-fail rejections are not.
+                .retryOnException(e -> e instanceof RetryableException || e instanceof FeignException.FeignServerException)
+                .build();
+        RetryRegistry registry = RetryRegistry.of(config);
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(CART_SERVICE);
+    }
+
+    @Bean
+    public CircuitBreaker productServiceCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${xopix.resilience.product.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${xopix.resilience.product.slow-call-duration:PT0.25S}") Duration slowCallDuration,
+            @Value("${xopix.resilience.product.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${xopix.resilience.product.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${xopix.resilience.product.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${xopix.resilience.product.wait-in-open-state:PT30S}") Duration waitInOpenState) {
+        // Unlike the cart service, every failure counts, 4xx included: unknown products are left
+        // out of a batch response, so a 4xx means the catalog cannot answer at all.
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(PRODUCT_SERVICE);
+    }
+
+    @Bean
+    public Bulkhead productServiceBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${xopix.resilience.product.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(PRODUCT_SERVICE);
+    }
+}
@@ -0,0 +1,28 @@
+package com.orderservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Timeout of asynchronous MVC responses. The order export ({@code StreamingResponseBody}) is the
+ * only one, so this is the export timeout: without it the servlet container's default (30 s on
+ * Tomcat) cuts large exports off mid-stream. Zero or a negative value means no timeout.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final Duration exportTimeout;
+
+    public WebAsyncConfig(@Value("${xopix.export.timeout:PT1H}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeout.isNegative() ? 0 : exportTimeout.toMillis());
+    }
+}
@@ -1,23 +1,58 @@
 package com.orderservice.controller;
 
 
+import com.orderservice.admission.CheckoutAdmissionControl;
+import com.orderservice.async.AcceptedCheckout;
+import com.orderservice.async.AsyncCheckoutProcessor;
+import com.orderservice.async.CheckoutState;
+import com.orderservice.async.TrackedCheckout;
+import com.orderservice.dto.BulkOrderLookupRequest;
+import com.orderservice.dto.BulkOrderLookupResult;
+import com.orderservice.dto.BulkOrderStatusRequest;
+import com.orderservice.dto.BulkOrderStatusResult;
+import com.orderservice.dto.CheckoutStatusResponse;
+import com.orderservice.dto.OrderAcceptedResponse;
+import com.orderservice.dto.OrderHistoryPage;
 import com.orderservice.dto.OrderRequest;
 import com.orderservice.dto.OrderResponse;
+import com.orderservice.dto.OrderStatusResponse;
+import com.orderservice.dto.OrderStatusUpdateRequest;
+import com.orderservice.dto.UserOrderSummaryResponse;
+import com.orderservice.export.OrderExportFilter;
+import com.orderservice.export.OrderExportFormat;
+import com.orderservice.exception.OrderNotFoundException;
+import com.orderservice.export.OrderExporter;
+import com.orderservice.idempotency.IdempotentCheckout;
+import com.orderservice.model.OrderStatus;
 import com.orderservice.model.Orders;
+import com.orderservice.security.OrderAccessEvaluator;
 import com.orderservice.service.OrderServiceImpl;
+import com.orderservice.service.OrderStatusService;
+import com.orderservice.service.UserOrderSummaryRebuilder;
+import com.orderservice.service.UserOrderSummaryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -25,21 +60,112 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+
     @Autowired
     private OrderServiceImpl orderServiceImpl;
 
+    @Autowired
+    private OrderAccessEvaluator orderAccess;
+
+    @Autowired
+    private IdempotentCheckout idempotentCheckout;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderExporter orderExporter;
+
+    @Autowired
+    private UserOrderSummaryService userOrderSummaryService;
+
+    @Autowired
+    private UserOrderSummaryRebuilder userOrderSummaryRebuilder;
+
+    @Autowired
+    private CheckoutAdmissionControl checkoutAdmission;
+
+    @Autowired
+    private AsyncCheckoutProcessor asyncCheckout;
+
     @RequestMapping(value = "/create", method = RequestMethod.POST)
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest request,
-                                                     Authentication authentication) {
+    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequest request,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                         @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
+                                         Authentication authentication) {
         // In a real application, authentication.getName() would map to the internal userId
         // or a custom principal object from Auth0 JWT validation.
         // For local testing with in-memory users, authentication.getName() is the username ("user1").
         // We'll use this as the userId for now.
         String userId = authentication.getName();
         log.info("Received order creation request for user {} from cart {}", userId, request.getCartId());
-        Orders newOrder = orderServiceImpl.createOrder(request, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromEntity(newOrder));
+        boolean hasIdempotencyKey = idempotencyKey != null && !idempotencyKey.isBlank();
+        if (asyncCheckout.isEnabled() && !hasIdempotencyKey && prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            return acceptOrder(request, userId);
+        }
+        if (!hasIdempotencyKey) {
+            // Sheds the checkout (429 per user, 503 at the concurrency limit) before any work is done.
+            Orders newOrder = checkoutAdmission.admit(userId, () -> orderServiceImpl.createOrder(request, userId));
+            return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromEntity(newOrder));
+        }
+
+        // Retries with the same key return the original order instead of creating a new one. Only
+        // the checkout itself is admitted: replays and waits for a concurrent duplicate are not
+        // rate limited and hold no concurrency slot.
+        IdempotentCheckout.Result result = idempotentCheckout.execute(userId, idempotencyKey, request,
+                () -> checkoutAdmission.admit(userId, () -> orderServiceImpl.createOrder(request, userId)));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.order());
+    }
+
+    /**
+     * Asynchronous checkout: queues the validated request and answers 202 with the order id and a
+     * status URL to poll, without waiting for cart-service or the database.
+     */
+    private ResponseEntity<OrderAcceptedResponse> acceptOrder(OrderRequest request, String userId) {
+        checkoutAdmission.checkRate(userId);
+        AcceptedCheckout checkout = asyncCheckout.accept(request, userId);
+        URI statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/orders/checkout/{orderId}")
+                .buildAndExpand(checkout.orderId())
+                .toUri();
+        log.info("Order {} accepted for asynchronous checkout for user {}", checkout.orderId(), userId);
+        return ResponseEntity.accepted()
+                .location(statusUrl)
+                .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                .body(new OrderAcceptedResponse(checkout.orderId(), CheckoutState.QUEUED, statusUrl.toString()));
+    }
+
+    /**
+     * Status of an asynchronous checkout: QUEUED, PROCESSING, FAILED with the reason, or COMPLETED
+     * with the order.
+     * Requires authentication. User can only view their own checkouts unless they are ADMIN.
+     */
+    @RequestMapping(value = "/checkout/{orderId}", method = RequestMethod.GET)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CheckoutStatusResponse> getCheckoutStatus(@PathVariable String orderId,
+                                                                    Authentication authentication) {
+        Optional<TrackedCheckout> tracked = asyncCheckout.status(orderId);
+        if (tracked.isPresent() && tracked.get().state() != CheckoutState.COMPLETED) {
+            TrackedCheckout checkout = tracked.get();
+            if (!checkout.userId().equals(authentication.getName()) && !OrderAccessEvaluator.isAdmin(authentication)) {
+                throw new OrderNotFoundException("Order with ID " + orderId + " not found.");
+            }
+            return ResponseEntity.ok(new CheckoutStatusResponse(orderId, checkout.state(), null, checkout.error()));
+        }
+        // Completed, or accepted by another instance: the order itself is the answer.
+        if (!orderAccess.canView(authentication, orderId)) {
+            throw new OrderNotFoundException("Order with ID " + orderId + " not found.");
+        }
+        return ResponseEntity.ok(new CheckoutStatusResponse(orderId, CheckoutState.COMPLETED,
+                orderAccess.authorizedOrder(orderId), null));
     }
 
 
@@ -48,12 +174,29 @@ public class OrderController {
      * Requires authentication. User can only view their own orders unless they are ADMIN.
      */
     @RequestMapping(value = "/order/{orderId}", method = RequestMethod.GET)
-    @PreAuthorize("isAuthenticated() and (authentication.name == @orderServiceImpl.getOrderById(#orderId, authentication.name).userId or hasRole('ADMIN'))")
+    @PreAuthorize("isAuthenticated() and @orderAccess.canView(authentication, #orderId)")
     public ResponseEntity<OrderResponse> getOrderByOrderId(@PathVariable String  orderId, Authentication authentication) {
-        String userId = authentication.getName();
-        log.info("Fetching order {} for user {}", orderId, userId);
-        Orders order = orderServiceImpl.getOrderById(orderId, userId); // Service handles ownership check
-        return ResponseEntity.ok(OrderResponse.fromEntity(order));
+        log.info("Fetching order {} for user {}", orderId, authentication.getName());
+        // Same instance the @PreAuthorize check loaded; no second lookup.
+        OrderResponse order = orderAccess.authorizedOrder(orderId);
+        return ResponseEntity.ok(order);
+    }
+
+    /**
+     * Get many orders by ID in one call, for services that would otherwise fetch them one by one.
+     * Orders are read with chunked IN queries and authorized in memory; the result has one entry
+     * per requested ID, in request order, with orders that do not exist or that the caller may not
+     * view marked as not found.
+     * Requires authentication. User can only view their own orders unless they are ADMIN.
+     */
+    @RequestMapping(value = "/lookup", method = RequestMethod.POST)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkOrderLookupResult> lookupOrders(@Valid @RequestBody BulkOrderLookupRequest request,
+                                                              Authentication authentication) {
+        log.info("Looking up {} orders for {}", request.getOrderIds().size(), authentication.getName());
+        Map<String, OrderResponse> loaded = orderServiceImpl.loadOrderResponses(request.getOrderIds());
+        loaded.values().removeIf(order -> !orderAccess.canViewLoaded(authentication, order));
+        return ResponseEntity.ok(BulkOrderLookupResult.of(request.getOrderIds(), loaded));
     }
 
     /**
@@ -77,12 +220,106 @@ public class OrderController {
         }
 
         log.info("Fetching orders for user {} (page: {}, size: {}, sortBy:{})", userId, page, size, sortBy);
-        Page<Orders> ordersPage = orderServiceImpl.getOrdersByUserId(userId, page, size, sortBy, sortDir);
-        List<OrderResponse> orderResponses = ordersPage.getContent().stream()
-                .map(OrderResponse::fromEntity)
-                .collect(Collectors.toList());
+        List<OrderResponse> orderResponses = orderServiceImpl.getOrderResponsesByUserId(userId, page, size, sortBy, sortDir);
         return ResponseEntity.ok(orderResponses);
     }
 
+    /**
+     * Get a user's order history newest first, using cursor (keyset) pagination.
+     * Pass the returned nextCursor to fetch the following page; it is null on the last page.
+     * Requires authentication. User can only view their own orders unless they are ADMIN.
+     */
+    @RequestMapping(value = "/user/{userId}/history", method = RequestMethod.GET)
+    @PreAuthorize("isAuthenticated() and (#userId == authentication.name or hasRole('ADMIN'))")
+    public ResponseEntity<OrderHistoryPage> getOrderHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching order history for user {} (size: {}, cursor: {})", userId, size, cursor != null);
+        return ResponseEntity.ok(orderServiceImpl.getOrderHistory(userId, cursor, size));
+    }
+
+    /**
+     * Get a user's order count, lifetime spend and last order date from the precomputed summary,
+     * without touching their orders.
+     * Requires authentication. User can only view their own summary unless they are ADMIN.
+     */
+    @RequestMapping(value = "/user/{userId}/summary", method = RequestMethod.GET)
+    @PreAuthorize("isAuthenticated() and (#userId == authentication.name or hasRole('ADMIN'))")
+    public ResponseEntity<UserOrderSummaryResponse> getOrderSummary(@PathVariable String userId) {
+        return ResponseEntity.ok(userOrderSummaryService.getSummary(userId));
+    }
 
+    /**
+     * Recompute every user's order summary from their orders, in batches. For backfills and
+     * repairs; the summaries stay readable (and maintained) while it runs.
+     * Requires ADMIN role.
+     */
+    @RequestMapping(value = "/summary/rebuild", method = RequestMethod.POST)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildOrderSummaries() {
+        log.info("Rebuilding user order summaries");
+        return ResponseEntity.ok(Map.of("usersRebuilt", userOrderSummaryRebuilder.rebuildAll()));
+    }
+
+    /**
+     * Current status of an order, for clients that poll it. The ownership check reads only the
+     * order's owner and the handler only its status, so neither loads the order itself.
+     * Requires authentication. User can only view their own orders unless they are ADMIN.
+     */
+    @RequestMapping(value = "/order/{orderId}/status", method = RequestMethod.GET)
+    @PreAuthorize("isAuthenticated() and @orderAccess.isOwner(authentication, #orderId)")
+    public ResponseEntity<OrderStatusResponse> getOrderStatus(@PathVariable String orderId) {
+        return ResponseEntity.ok(new OrderStatusResponse(orderId, orderServiceImpl.getOrderStatus(orderId)));
+    }
+
+    /**
+     * Move one order to a new status. Invalid moves and lost races with a concurrent update
+     * both return 409; the latter can simply be retried.
+     * Requires ADMIN role.
+     */
+    @RequestMapping(value = "/order/{orderId}/status", method = RequestMethod.PUT)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OrderResponse> updateOrderStatus(@PathVariable String orderId,
+                                                           @Valid @RequestBody OrderStatusUpdateRequest request) {
+        log.info("Moving order {} to {}", orderId, request.getStatus());
+        orderStatusService.transitionStatus(orderId, request.getStatus());
+        return ResponseEntity.ok(orderServiceImpl.loadOrderResponse(orderId));
+    }
+
+    /**
+     * Move many orders to the same status with set-based updates. Orders that are missing or
+     * cannot make the move are reported in rejectedOrderIds instead of failing the request.
+     * Requires ADMIN role.
+     */
+    @RequestMapping(value = "/status/bulk", method = RequestMethod.POST)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOrderStatusResult> bulkUpdateOrderStatus(@Valid @RequestBody BulkOrderStatusRequest request) {
+        log.info("Moving {} orders to {}", request.getOrderIds().size(), request.getStatus());
+        return ResponseEntity.ok(orderStatusService.bulkTransitionStatus(request.getOrderIds(), request.getStatus()));
+    }
+
+    /**
+     * Stream orders as NDJSON (default) or CSV, optionally filtered by user, creation time range
+     * ({@code from} inclusive, {@code to} exclusive, ISO date-times) and status. Rows are written
+     * to the response as they are read, so the export size is not bounded by memory.
+     * Requires ADMIN role, or authentication when exporting the caller's own orders.
+     */
+    @RequestMapping(value = "/export", method = RequestMethod.GET)
+    @PreAuthorize("hasRole('ADMIN') or (isAuthenticated() and #userId != null and #userId == authentication.name)")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        OrderExportFormat exportFormat = OrderExportFormat.fromParameter(format);
+        OrderExportFilter filter = new OrderExportFilter(userId, from, to, status);
+        log.info("Exporting orders as {} (user: {}, from: {}, to: {}, statuses: {})", exportFormat, userId, from, to, filter.statuses());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + exportFormat.fileExtension()).build().toString())
+                .body(out -> orderExporter.export(filter, exportFormat, out));
+    }
 }
@@ -0,0 +1,26 @@
+package com.orderservice.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code xopix.datasource.routing.*}: the replicas read-only transactions may use and the lag
+ * they may have. Each replica gets its own Hikari pool, sized like the primary's unless overridden.
+ * (The lag check interval and read-your-writes window are read where they are used.)
+ */
+@ConfigurationProperties("xopix.datasource.routing")
+public record DataSourceRoutingProperties(
+        boolean enabled,
+        List<Replica> replicas,
+        Duration maxLag) {
+
+    public DataSourceRoutingProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+        maxLag = maxLag == null ? Duration.ofSeconds(2) : maxLag;
+    }
+
+    public record Replica(String name, String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
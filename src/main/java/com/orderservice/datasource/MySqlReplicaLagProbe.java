@@ -0,0 +1,32 @@
+package com.orderservice.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Reads {@code Seconds_Behind_Source} from {@code SHOW REPLICA STATUS} (MySQL 8.0.22+). NULL means
+ * replication is not running, so the replica is reported as unusable. A server without replica
+ * status is not replicating from anywhere and is treated as current.
+ */
+public class MySqlReplicaLagProbe implements ReplicaLagProbe {
+
+    @Override
+    public Duration lag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return Duration.ZERO;
+            }
+            long seconds = status.getLong("Seconds_Behind_Source");
+            if (status.wasNull()) {
+                throw new SQLException("Replication is not running (Seconds_Behind_Source is NULL)");
+            }
+            return Duration.ofSeconds(seconds);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.orderservice.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the reads of a call to the primary even inside a read-only transaction, for results that
+ * outlive the request (e.g. cache fills): a replica may still return data from before a recent
+ * write by any user, and read-your-writes only pins the user who wrote. The routing decision is
+ * taken when the transaction runs its first statement, so the call must contain that statement.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        Boolean previous = REQUIRED.get();
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                REQUIRED.remove();
+            } else {
+                REQUIRED.set(previous);
+            }
+        }
+    }
+
+    static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.orderservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically probes each replica's lag. A replica is usable for reads only while its last probe
+ * succeeded and reported a lag within {@code maxLag}; until the first probe it is not used.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final Map<String, DataSource> replicas;
+    private final ReplicaLagProbe probe;
+    private final Duration maxLag;
+    private final Map<String, Duration> lastLag = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, ReplicaLagProbe probe, Duration maxLag) {
+        this.replicas = replicas;
+        this.probe = probe;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isUsable(String replica) {
+        Duration lag = lastLag.get(replica);
+        return lag != null && lag.compareTo(maxLag) <= 0;
+    }
+
+    @Scheduled(fixedDelayString = "${xopix.datasource.routing.lag-check-interval:PT1S}")
+    public void checkLag() {
+        replicas.forEach((name, dataSource) -> {
+            try {
+                Duration lag = probe.lag(dataSource);
+                Duration previous = lastLag.put(name, lag);
+                if (lag.compareTo(maxLag) > 0 && (previous == null || previous.compareTo(maxLag) <= 0)) {
+                    log.warn("Replica {} is {} behind (max {}); reads fall back to the primary", name, lag, maxLag);
+                }
+            } catch (Exception e) {
+                if (lastLag.remove(name) != null) {
+                    log.warn("Replica {} lag check failed, reads fall back to the primary: {}", name, e.getMessage());
+                }
+            }
+        });
+    }
+}
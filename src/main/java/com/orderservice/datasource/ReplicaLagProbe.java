@@ -0,0 +1,15 @@
+package com.orderservice.datasource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Measures how far a replica is behind the primary. Throws when the lag cannot be determined,
+ * which makes the replica unusable until a later probe succeeds.
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    Duration lag(DataSource replica) throws SQLException;
+}
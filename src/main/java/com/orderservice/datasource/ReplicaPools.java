@@ -0,0 +1,21 @@
+package com.orderservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * The replica connection pools by name, in configuration order. Closing it closes the pools.
+ */
+public record ReplicaPools(Map<String, DataSource> dataSources) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+}
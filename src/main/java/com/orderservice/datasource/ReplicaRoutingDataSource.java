@@ -0,0 +1,89 @@
+package com.orderservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * Replicas are picked round-robin among those the {@link ReplicaLagMonitor} considers current; a
+ * read falls back to the primary when none is, or when the current user wrote recently
+ * (read-your-writes), or inside {@link PrimaryReads#call}. Must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+ * takes its connection before it marks the transaction read-only, and the proxy defers the real
+ * connection (and so this routing decision) to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaNames;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Supplier<String> currentUser;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter toReplica;
+    private final Counter toPrimary;
+    private final Counter readYourWritesFallback;
+    private final Counter primaryRequired;
+    private final Counter lagFallback;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker readYourWrites, Supplier<String> currentUser,
+                                    MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.currentUser = currentUser;
+        this.toReplica = route(meterRegistry, "replica");
+        this.toPrimary = route(meterRegistry, "primary");
+        this.readYourWritesFallback = route(meterRegistry, "primary_read_your_writes");
+        this.primaryRequired = route(meterRegistry, "primary_required");
+        this.lagFallback = route(meterRegistry, "primary_replica_lag");
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaNames.isEmpty()) {
+            toPrimary.increment();
+            return PRIMARY;
+        }
+        if (PrimaryReads.isRequired()) {
+            primaryRequired.increment();
+            return PRIMARY;
+        }
+        String userId = currentUser.get();
+        if (userId != null && readYourWrites.hasRecentWrite(userId)) {
+            readYourWritesFallback.increment();
+            return PRIMARY;
+        }
+        int replicas = replicaNames.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas);
+        for (int i = 0; i < replicas; i++) {
+            String replica = replicaNames.get((start + i) % replicas);
+            if (lagMonitor.isUsable(replica)) {
+                toReplica.increment();
+                return replica;
+            }
+        }
+        lagFallback.increment();
+        return PRIMARY;
+    }
+
+    private static Counter route(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("orders.datasource.routing").tag("route", route).register(meterRegistry);
+    }
+}
@@ -1,10 +1,12 @@
 package com.orderservice.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
+@AllArgsConstructor
 @Builder
 public class AddressDTO {
     @NotBlank(message = "Street is required")
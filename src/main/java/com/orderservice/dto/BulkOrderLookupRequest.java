@@ -0,0 +1,16 @@
+package com.orderservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkOrderLookupRequest {
+    public static final int MAX_ORDER_IDS = 1000;
+
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = MAX_ORDER_IDS, message = "At most 1000 orders can be looked up per request")
+    private List<String> orderIds;
+}
@@ -0,0 +1,32 @@
+package com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class BulkOrderLookupResult {
+    private int requested;
+    private int found;
+    private List<OrderLookupEntry> orders; // one entry per requested ID, in request order
+
+    /**
+     * @param visible the orders the caller may see, by ID; any other requested ID is reported as not found
+     */
+    public static BulkOrderLookupResult of(List<String> requestedIds, Map<String, OrderResponse> visible) {
+        List<OrderLookupEntry> entries = new ArrayList<>(requestedIds.size());
+        int found = 0;
+        for (String orderId : requestedIds) {
+            OrderResponse order = visible.get(orderId);
+            if (order != null) {
+                found++;
+            }
+            entries.add(new OrderLookupEntry(orderId, order != null, order));
+        }
+        return new BulkOrderLookupResult(requestedIds.size(), found, entries);
+    }
+}
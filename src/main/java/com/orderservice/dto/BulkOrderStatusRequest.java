@@ -0,0 +1,19 @@
+package com.orderservice.dto;
+
+import com.orderservice.model.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkOrderStatusRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 50_000, message = "At most 50000 orders can be transitioned per request")
+    private List<String> orderIds;
+
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+}
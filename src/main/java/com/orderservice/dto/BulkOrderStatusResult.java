@@ -0,0 +1,16 @@
+package com.orderservice.dto;
+
+import com.orderservice.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkOrderStatusResult {
+    private OrderStatus status;
+    private int requested;
+    private int transitioned;
+    private List<String> rejectedOrderIds; // missing, or not in a status that may move to the target
+}
@@ -0,0 +1,15 @@
+package com.orderservice.dto;
+
+import com.orderservice.async.CheckoutError;
+import com.orderservice.async.CheckoutState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CheckoutStatusResponse {
+    private String orderId;
+    private CheckoutState state;
+    private OrderResponse order; // only when COMPLETED
+    private CheckoutError error; // only when FAILED
+}
@@ -0,0 +1,13 @@
+package com.orderservice.dto;
+
+import com.orderservice.async.CheckoutState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OrderAcceptedResponse {
+    private String orderId;
+    private CheckoutState state;
+    private String statusUrl; // poll until COMPLETED or FAILED
+}
@@ -0,0 +1,13 @@
+package com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderHistoryPage {
+    private List<OrderResponse> orders;
+    private String nextCursor; // null when there are no further orders
+}
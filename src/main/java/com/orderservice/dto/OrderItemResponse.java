@@ -1,11 +1,14 @@
 package com.orderservice.dto;
 
+import com.orderservice.repository.projection.OrderItemRow;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 import java.math.BigDecimal;
 
 @Data
+@AllArgsConstructor
 @Builder
 public class OrderItemResponse {
     private String productId;
@@ -13,4 +16,8 @@ public class OrderItemResponse {
     private int quantity;
     private BigDecimal price;
     private BigDecimal subtotal;
+
+    public static OrderItemResponse fromRow(OrderItemRow row) {
+        return new OrderItemResponse(row.productId(), row.productName(), row.quantity(), row.price(), row.subtotal());
+    }
 }
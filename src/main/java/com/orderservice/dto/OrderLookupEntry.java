@@ -0,0 +1,12 @@
+package com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OrderLookupEntry {
+    private String orderId;
+    private boolean found; // false when the order does not exist or the caller may not view it
+    private OrderResponse order; // null when not found
+}
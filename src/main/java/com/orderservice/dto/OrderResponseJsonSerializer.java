@@ -0,0 +1,88 @@
+package com.orderservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes {@link OrderResponse} straight to the generator, skipping Jackson's per-property bean
+ * serializers for the response and every item. The output is the same JSON the default
+ * serialization produces with Spring Boot's ObjectMapper (same property order, ISO date-times,
+ * nulls included); OrderResponseJsonSerializerTest checks that, so keep both in step when a field
+ * is added.
+ */
+@JsonComponent
+public class OrderResponseJsonSerializer extends JsonSerializer<OrderResponse> {
+
+    @Override
+    public void serialize(OrderResponse order, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", order.getId());
+        gen.writeStringField("userId", order.getUserId());
+        gen.writeStringField("status", order.getStatus() == null ? null : order.getStatus().name());
+        writeDecimal(gen, "totalAmount", order.getTotalAmount());
+        writeAddress(gen, order.getShippingAddress());
+        writeItems(gen, order.getOrderItems());
+        writeDateTime(gen, "createdAt", order.getCreatedAt());
+        writeDateTime(gen, "updatedAt", order.getUpdatedAt());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public Class<OrderResponse> handledType() {
+        return OrderResponse.class;
+    }
+
+    private static void writeAddress(JsonGenerator gen, AddressDTO address) throws IOException {
+        gen.writeFieldName("shippingAddress");
+        if (address == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeStringField("street", address.getStreet());
+        gen.writeStringField("city", address.getCity());
+        gen.writeStringField("state", address.getState());
+        gen.writeStringField("zipCode", address.getZipCode());
+        gen.writeStringField("country", address.getCountry());
+        gen.writeEndObject();
+    }
+
+    private static void writeItems(JsonGenerator gen, List<OrderItemResponse> items) throws IOException {
+        gen.writeFieldName("orderItems");
+        if (items == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(items, items.size());
+        for (OrderItemResponse item : items) {
+            gen.writeStartObject();
+            gen.writeStringField("productId", item.getProductId());
+            gen.writeStringField("productName", item.getProductName());
+            gen.writeNumberField("quantity", item.getQuantity());
+            writeDecimal(gen, "price", item.getPrice());
+            writeDecimal(gen, "subtotal", item.getSubtotal());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeDecimal(JsonGenerator gen, String name, BigDecimal value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, String name, LocalDateTime value) throws IOException {
+        gen.writeStringField(name, value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+    }
+}
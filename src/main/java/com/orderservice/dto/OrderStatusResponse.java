@@ -0,0 +1,12 @@
+package com.orderservice.dto;
+
+import com.orderservice.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OrderStatusResponse {
+    private String orderId;
+    private OrderStatus status;
+}
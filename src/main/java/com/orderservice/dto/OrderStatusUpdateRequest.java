@@ -0,0 +1,11 @@
+package com.orderservice.dto;
+
+import com.orderservice.model.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class OrderStatusUpdateRequest {
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+}
@@ -0,0 +1,26 @@
+package com.orderservice.dto;
+
+import com.orderservice.model.UserOrderSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class UserOrderSummaryResponse {
+    private String userId;
+    private long orderCount;
+    private BigDecimal lifetimeSpend; // excludes cancelled and failed orders
+    private LocalDateTime lastOrderAt; // null when the user has not ordered yet
+
+    public static UserOrderSummaryResponse fromEntity(UserOrderSummary summary) {
+        return new UserOrderSummaryResponse(summary.getUserId(), summary.getOrderCount(),
+                summary.getLifetimeSpend(), summary.getLastOrderAt());
+    }
+
+    public static UserOrderSummaryResponse empty(String userId) {
+        return new UserOrderSummaryResponse(userId, 0, BigDecimal.ZERO, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.orderservice.dto.event;
+
+import com.orderservice.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JSON body of an outbox event. Deliberately small: consumers that need the full order fetch it.
+ */
+public record OrderEventPayload(
+        String orderId,
+        String userId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        int itemCount,
+        LocalDateTime occurredAt) {
+}
@@ -0,0 +1,15 @@
+package com.orderservice.dto.event;
+
+import com.orderservice.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * JSON body of an ORDER_STATUS_CHANGED outbox event.
+ */
+public record OrderStatusChangedPayload(
+        String orderId,
+        OrderStatus previousStatus,
+        OrderStatus status,
+        LocalDateTime occurredAt) {
+}
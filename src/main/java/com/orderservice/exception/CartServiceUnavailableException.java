@@ -0,0 +1,12 @@
+package com.orderservice.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CartServiceUnavailableException extends RuntimeException{
+    public CartServiceUnavailableException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
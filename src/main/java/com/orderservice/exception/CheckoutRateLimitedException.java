@@ -0,0 +1,19 @@
+package com.orderservice.exception;
+
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+@Getter
+public class CheckoutRateLimitedException extends RuntimeException{
+    private final Duration retryAfter;
+
+    public CheckoutRateLimitedException(String message, Duration retryAfter){
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
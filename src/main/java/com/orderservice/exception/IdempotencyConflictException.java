@@ -0,0 +1,12 @@
+package com.orderservice.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException{
+    public IdempotencyConflictException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.orderservice.export;
+
+import com.orderservice.repository.projection.OrderItemRow;
+import com.orderservice.repository.projection.OrderRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header line and one line per order item, the order's columns repeated on
+ * each; an order without items gets one line with empty item columns. Fields are quoted only when
+ * they contain a delimiter, a quote or a line break.
+ */
+class CsvOrderExportWriter implements OrderExportWriter {
+
+    static final String HEADER = "id,user_id,status,total_amount,street,city,state,zip_code,country,created_at,updated_at,"
+            + "product_id,product_name,quantity,price,subtotal";
+
+    private final Writer writer;
+
+    CsvOrderExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(OrderRow row, List<OrderItemRow> items) throws IOException {
+        if (items.isEmpty()) {
+            orderColumns(row);
+            writer.write(",,,,,\r\n");
+            return;
+        }
+        for (OrderItemRow item : items) {
+            orderColumns(row);
+            writer.write(',');
+            field(item.productId());
+            writer.write(',');
+            field(item.productName());
+            writer.write(',');
+            writer.write(Integer.toString(item.quantity()));
+            writer.write(',');
+            writer.write(item.price().toPlainString());
+            writer.write(',');
+            writer.write(item.subtotal().toPlainString());
+            writer.write("\r\n");
+        }
+    }
+
+    private void orderColumns(OrderRow row) throws IOException {
+        writer.write(row.id());
+        writer.write(',');
+        field(row.userId());
+        writer.write(',');
+        writer.write(row.status().name());
+        writer.write(',');
+        writer.write(row.totalAmount().toPlainString());
+        writer.write(',');
+        field(row.street());
+        writer.write(',');
+        field(row.city());
+        writer.write(',');
+        field(row.state());
+        writer.write(',');
+        field(row.zipCode());
+        writer.write(',');
+        field(row.country());
+        writer.write(',');
+        field(row.createdAt());
+        writer.write(',');
+        field(row.updatedAt());
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush(); // not close(): the target stream belongs to the caller
+    }
+
+    private void field(LocalDateTime dateTime) throws IOException {
+        if (dateTime != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(dateTime, writer);
+        }
+    }
+
+    private void field(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package com.orderservice.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.orderservice.repository.projection.OrderItemRow;
+import com.orderservice.repository.projection.OrderRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * One JSON object per line, written field by field with a streaming generator (no reflection and
+ * no intermediate tree per row).
+ */
+class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonOrderExportWriter(JsonFactory jsonFactory, OutputStream out) throws IOException {
+        this.generator = jsonFactory.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(OrderRow row, List<OrderItemRow> items) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", row.id());
+        generator.writeStringField("userId", row.userId());
+        generator.writeStringField("status", row.status().name());
+        generator.writeNumberField("totalAmount", row.totalAmount());
+        generator.writeObjectFieldStart("shippingAddress");
+        generator.writeStringField("street", row.street());
+        generator.writeStringField("city", row.city());
+        generator.writeStringField("state", row.state());
+        generator.writeStringField("zipCode", row.zipCode());
+        generator.writeStringField("country", row.country());
+        generator.writeEndObject();
+        generator.writeStringField("createdAt", format(row.createdAt()));
+        generator.writeStringField("updatedAt", format(row.updatedAt()));
+        generator.writeArrayFieldStart("items");
+        for (OrderItemRow item : items) {
+            generator.writeStartObject();
+            generator.writeStringField("productId", item.productId());
+            generator.writeStringField("productName", item.productName());
+            generator.writeNumberField("quantity", item.quantity());
+            generator.writeNumberField("price", item.price());
+            generator.writeNumberField("subtotal", item.subtotal());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close(); // flushes; the target stays open
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+}
@@ -0,0 +1,26 @@
+package com.orderservice.export;
+
+import com.orderservice.exception.InvalidExportRequestException;
+import com.orderservice.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Which orders to export. A null userId means all users; from is inclusive, to exclusive, and
+ * either may be null for an open range. An empty status set means every status.
+ */
+public record OrderExportFilter(
+        String userId,
+        LocalDateTime from,
+        LocalDateTime to,
+        Set<OrderStatus> statuses) {
+
+    public OrderExportFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidExportRequestException("Export range is empty: 'from' must be before 'to'.");
+        }
+        statuses = statuses == null || statuses.isEmpty() ? EnumSet.allOf(OrderStatus.class) : EnumSet.copyOf(statuses);
+    }
+}
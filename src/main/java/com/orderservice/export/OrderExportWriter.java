@@ -0,0 +1,21 @@
+package com.orderservice.export;
+
+import com.orderservice.repository.projection.OrderItemRow;
+import com.orderservice.repository.projection.OrderRow;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes exported orders, each with its items, one at a time to an underlying stream. Implementations buffer a bounded
+ * amount and must not close the target stream, which belongs to the caller.
+ */
+interface OrderExportWriter {
+
+    /**
+     * @param items the order's items; the list is reused for the next order, so do not keep it
+     */
+    void write(OrderRow order, List<OrderItemRow> items) throws IOException;
+
+    void finish() throws IOException;
+}
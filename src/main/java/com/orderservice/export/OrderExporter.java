@@ -0,0 +1,92 @@
+package com.orderservice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.projection.OrderExportRow;
+import com.orderservice.repository.projection.OrderItemRow;
+import com.orderservice.repository.projection.OrderRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders matching a filter, with their items, straight from a forward-only result set to
+ * an output stream. Memory use is independent of the number of orders: one order and its items
+ * are held at a time, plus the driver's fetch buffer and the writer's output buffer.
+ */
+@Component
+@Slf4j
+public class OrderExporter {
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public OrderExporter(OrderRepository orderRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return the number of orders written
+     */
+    public long export(OrderExportFilter filter, OrderExportFormat format, OutputStream out) {
+        long start = System.nanoTime();
+        Long exported = readOnlyTransaction.execute(tx -> {
+            try (Stream<OrderExportRow> rows = filter.userId() != null
+                    ? orderRepository.streamUserOrderRowsForExport(filter.userId(), filter.from(), filter.to(), filter.statuses())
+                    : orderRepository.streamOrderRowsForExport(filter.from(), filter.to(), filter.statuses())) {
+                OrderExportWriter writer = writer(format, out);
+                long count = 0;
+                // The rows of an order follow each other: collect its items until the order id changes.
+                OrderRow order = null;
+                List<OrderItemRow> items = new ArrayList<>();
+                for (Iterator<OrderExportRow> it = rows.iterator(); it.hasNext(); ) {
+                    OrderExportRow row = it.next();
+                    if (order == null || !order.id().equals(row.id())) {
+                        if (order != null) {
+                            writer.write(order, items);
+                            items.clear();
+                            count++;
+                        }
+                        order = row.order();
+                    }
+                    OrderItemRow item = row.item();
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+                if (order != null) {
+                    writer.write(order, items);
+                    count++;
+                }
+                writer.finish();
+                return count;
+            } catch (IOException e) {
+                // Typically the client went away; the transaction rolls back and the cursor is closed.
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} orders as {} in {} ms", exported, format, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private OrderExportWriter writer(OrderExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonOrderExportWriter(objectMapper.getFactory(), out);
+            case CSV -> new CsvOrderExportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.orderservice.idempotency;
+
+/**
+ * What a completed {@code Idempotency-Key} produced: the order, and the fingerprint of the request
+ * that created it, so a reuse of the key with a different request can be told apart from a retry.
+ * The fingerprint is null for records stored before fingerprints were kept.
+ */
+public record IdempotencyRecord(String orderId, String requestFingerprint) {
+}
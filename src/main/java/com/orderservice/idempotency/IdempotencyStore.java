@@ -0,0 +1,34 @@
+package com.orderservice.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remembers which order an {@code Idempotency-Key} produced, and provides a short-lived lock so
+ * that concurrent requests with the same key collapse into a single checkout.
+ */
+public interface IdempotencyStore {
+
+    Optional<IdempotencyRecord> find(String key);
+
+    /**
+     * @return a token identifying the caller as owner of the in-progress lock for the key, or
+     * empty if another request holds it.
+     */
+    Optional<String> tryLock(String key, Duration lockTtl);
+
+    /**
+     * Extends the lock to {@code lockTtl} from now if it is still held under {@code token}.
+     *
+     * @return false if the lock was lost (its lease expired and another request may have taken it).
+     */
+    boolean renew(String key, String token, Duration lockTtl);
+
+    /**
+     * Releases the lock only if it is still held under {@code token}: a holder whose lease has
+     * expired must not release the lock of the request that took over.
+     */
+    void unlock(String key, String token);
+
+    void complete(String key, IdempotencyRecord record, Duration retention);
+}
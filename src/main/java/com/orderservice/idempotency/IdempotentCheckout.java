@@ -0,0 +1,153 @@
+package com.orderservice.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.exception.IdempotencyConflictException;
+import com.orderservice.exception.IdempotencyKeyMismatchException;
+import com.orderservice.model.Orders;
+import com.orderservice.service.OrderServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs a checkout at most once per (user, Idempotency-Key).
+ * A retry of a completed checkout costs one store lookup plus one order-cache hit; concurrent
+ * duplicates wait briefly on the key's lock and then replay the winner's order. The key is stored
+ * with a fingerprint of the request, and reusing it for a different request is rejected instead of
+ * replaying an order the request did not ask for.
+ * <p>
+ * The lock is a lease of {@code lock-ttl}, renewed every third of it while the checkout runs, so a
+ * slow checkout keeps its key however long it takes, and the key of an instance that died
+ * mid-checkout frees up within {@code lock-ttl}.
+ */
+@Component
+@Slf4j
+public class IdempotentCheckout {
+
+    public record Result(OrderResponse order, boolean replayed) {
+    }
+
+    private final IdempotencyStore idempotencyStore;
+    private final OrderServiceImpl orderServiceImpl;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final Duration retention;
+
+    public IdempotentCheckout(IdempotencyStore idempotencyStore,
+                              OrderServiceImpl orderServiceImpl,
+                              ObjectMapper objectMapper,
+                              TaskScheduler taskScheduler,
+                              @Value("${xopix.idempotency.lock-ttl:PT10S}") Duration lockTtl,
+                              @Value("${xopix.idempotency.lock-wait:PT5S}") Duration lockWait,
+                              @Value("${xopix.idempotency.retention:PT24H}") Duration retention) {
+        this.idempotencyStore = idempotencyStore;
+        this.orderServiceImpl = orderServiceImpl;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+        this.retention = retention;
+    }
+
+    /**
+     * @param request the checkout request; a key reused with a different request is rejected
+     * @throws IdempotencyKeyMismatchException if the key was already used for a different request.
+     * @throws IdempotencyConflictException if a request with the key is still running after lock-wait.
+     */
+    public Result execute(String userId, String idempotencyKey, Object request, Supplier<Orders> checkout) {
+        // Keys are scoped per user so one client cannot replay another client's order.
+        String key = userId + ':' + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        Optional<Result> replay = replay(key, idempotencyKey, fingerprint);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (true) {
+            Optional<String> lock = idempotencyStore.tryLock(key, lockTtl);
+            if (lock.isPresent()) {
+                ScheduledFuture<?> renewal = keepLocked(key, lock.get());
+                try {
+                    // The previous holder may have finished between our lookup and the lock.
+                    replay = replay(key, idempotencyKey, fingerprint);
+                    if (replay.isPresent()) {
+                        return replay.get();
+                    }
+                    Orders order = checkout.get();
+                    idempotencyStore.complete(key, new IdempotencyRecord(order.getId(), fingerprint), retention);
+                    return new Result(OrderResponse.fromEntity(order), false);
+                } finally {
+                    renewal.cancel(false);
+                    idempotencyStore.unlock(key, lock.get());
+                }
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IdempotencyConflictException(
+                        "A request with Idempotency-Key " + idempotencyKey + " is still being processed.");
+            }
+            pause();
+            replay = replay(key, idempotencyKey, fingerprint);
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+        }
+    }
+
+    private Optional<Result> replay(String key, String idempotencyKey, String fingerprint) {
+        return idempotencyStore.find(key).map(record -> {
+            if (record.requestFingerprint() != null && !record.requestFingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyMismatchException(
+                        "Idempotency-Key " + idempotencyKey + " was already used for a different request.");
+            }
+            log.info("Replaying order {} for idempotency key {}", record.orderId(), key);
+            return new Result(orderServiceImpl.loadOrderResponse(record.orderId()), true);
+        });
+    }
+
+    private ScheduledFuture<?> keepLocked(String key, String token) {
+        Duration period = lockTtl.dividedBy(3);
+        return taskScheduler.scheduleAtFixedRate(() -> {
+            if (!idempotencyStore.renew(key, token, lockTtl)) {
+                log.warn("Lost the idempotency lock for key {} while its checkout was running", key);
+            }
+        }, Instant.now().plus(period), period);
+    }
+
+    /**
+     * SHA-256 of the request as JSON, so equal requests match however their bodies were formatted.
+     */
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the checkout request", e);
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(25);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for a concurrent request.");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.orderservice.idempotency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-instance {@link IdempotencyStore}. Used on its own for local runs and tests, and as the
+ * fallback when Redis is unreachable. Expired entries are dropped lazily and on periodic sweeps.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final int SWEEP_EVERY_WRITES = 1_024;
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final Map<String, Entry<IdempotencyRecord>> completed = new ConcurrentHashMap<>();
+    private final Map<String, Entry<String>> locks = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSinceSweep = new AtomicInteger();
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        Entry<IdempotencyRecord> entry = completed.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            completed.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public Optional<String> tryLock(String key, Duration lockTtl) {
+        long now = System.nanoTime();
+        Entry<String> lock = new Entry<>(UUID.randomUUID().toString(), now + lockTtl.toNanos());
+        // Atomically take the lock if it is free or its holder's lease has expired.
+        return locks.compute(key, (k, current) -> current == null || current.isExpired(now) ? lock : current) == lock
+                ? Optional.of(lock.value())
+                : Optional.empty();
+    }
+
+    @Override
+    public boolean renew(String key, String token, Duration lockTtl) {
+        Entry<String> renewed = new Entry<>(token, System.nanoTime() + lockTtl.toNanos());
+        return locks.computeIfPresent(key, (k, current) -> current.value().equals(token) ? renewed : current) == renewed;
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        locks.computeIfPresent(key, (k, current) -> current.value().equals(token) ? null : current);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration retention) {
+        completed.put(key, new Entry<>(record, System.nanoTime() + retention.toNanos()));
+        // Only the thread that resets the counter sweeps.
+        if (writesSinceSweep.incrementAndGet() >= SWEEP_EVERY_WRITES
+                && writesSinceSweep.getAndSet(0) >= SWEEP_EVERY_WRITES) {
+            long now = System.nanoTime();
+            completed.values().removeIf(entry -> entry.isExpired(now));
+            locks.values().removeIf(entry -> entry.isExpired(now));
+        }
+    }
+}
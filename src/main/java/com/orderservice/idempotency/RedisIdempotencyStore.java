@@ -0,0 +1,104 @@
+package com.orderservice.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis-backed {@link IdempotencyStore}, shared by all instances: the key maps to
+ * {@code <request fingerprint>:<order id>} with a retention TTL and the in-progress lock is a
+ * {@code SET NX PX} of a random owner token, renewed and released with compare-and-set scripts so
+ * that only its owner can extend or release it.
+ * If Redis is unreachable the store degrades to the in-memory fallback, which still collapses
+ * duplicates that land on the same instance.
+ */
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency::";
+    private static final String LOCK_PREFIX = "idempotency-lock::";
+    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final IdempotencyStore fallback;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, IdempotencyStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(KEY_PREFIX + key)).map(RedisIdempotencyStore::decode);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency lookup in Redis failed, using local store: {}", e.getMessage());
+            return fallback.find(key);
+        }
+    }
+
+    @Override
+    public Optional<String> tryLock(String key, Duration lockTtl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + key, token, lockTtl))
+                    ? Optional.of(token)
+                    : Optional.empty();
+        } catch (RuntimeException e) {
+            log.warn("Idempotency lock in Redis failed, using local store: {}", e.getMessage());
+            return fallback.tryLock(key, lockTtl);
+        }
+    }
+
+    @Override
+    public boolean renew(String key, String token, Duration lockTtl) {
+        // A lock taken while Redis was down lives in the fallback store.
+        boolean renewedLocally = fallback.renew(key, token, lockTtl);
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(LOCK_PREFIX + key), token,
+                    Long.toString(lockTtl.toMillis()));
+            return renewedLocally || Long.valueOf(1).equals(renewed);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency lock renewal in Redis failed: {}", e.getMessage());
+            return renewedLocally;
+        }
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        fallback.unlock(key, token);
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_PREFIX + key), token);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency unlock in Redis failed (lock expires on its own): {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration retention) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, record.requestFingerprint() + ':' + record.orderId(), retention);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency record in Redis failed, using local store: {}", e.getMessage());
+            fallback.complete(key, record, retention);
+        }
+    }
+
+    private static IdempotencyRecord decode(String value) {
+        int separator = value.indexOf(':');
+        // Records written before fingerprints were kept hold just the order id.
+        return separator < 0
+                ? new IdempotencyRecord(value, null)
+                : new IdempotencyRecord(value.substring(separator + 1), value.substring(0, separator));
+    }
+}
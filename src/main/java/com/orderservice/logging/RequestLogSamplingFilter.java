@@ -0,0 +1,70 @@
+package com.orderservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps only a sample of the INFO-and-below logs written by the per-request code paths (the
+ * configured logger prefixes). WARN and ERROR, and every other logger, always pass.
+ * <p>
+ * The decision is made per request, not per line: it is derived from the trace id in the MDC, so
+ * a sampled request keeps all of its lines (and they correlate with the sampled trace). Lines
+ * outside a traced request are sampled individually. As a turbo filter it runs before the event
+ * is created or its message formatted, so a dropped line costs next to nothing.
+ */
+public class RequestLogSamplingFilter extends TurboFilter {
+
+    private static final String TRACE_ID_KEY = "traceId";
+    private static final int SCALE = 10_000;
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private int threshold = SCALE; // keep everything until a rate is configured
+
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    /**
+     * @param rate fraction of requests whose logs are kept, from 0.0 to 1.0
+     */
+    public void setRate(double rate) {
+        if (rate < 0.0 || rate > 1.0) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1, was " + rate);
+        }
+        this.threshold = (int) Math.round(rate * SCALE);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || threshold >= SCALE || !isRequestLogger(logger)) {
+            return FilterReply.NEUTRAL;
+        }
+        return bucket() < threshold ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isRequestLogger(Logger logger) {
+        String name = logger.getName();
+        for (String prefix : loggerPrefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bucket() {
+        String traceId = MDC.get(TRACE_ID_KEY);
+        if (traceId == null) {
+            return ThreadLocalRandom.current().nextInt(SCALE);
+        }
+        return Math.floorMod(traceId.hashCode() * 0x9E3779B9, SCALE);
+    }
+}
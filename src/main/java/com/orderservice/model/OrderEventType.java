@@ -0,0 +1,6 @@
+package com.orderservice.model;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED
+}
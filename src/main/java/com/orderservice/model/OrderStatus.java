@@ -1,10 +1,63 @@
 package com.orderservice.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle. Allowed moves:
+ * PENDING -> PROCESSING | CANCELLED | FAILED,
+ * PROCESSING -> SHIPPED | CANCELLED | FAILED,
+ * SHIPPED -> DELIVERED.
+ * DELIVERED, CANCELLED and FAILED are terminal.
+ */
 public enum OrderStatus {
     PENDING,
     PROCESSING,
     SHIPPED,
     DELIVERED,
     CANCELLED,
-    FAILED
+    FAILED;
+
+    public Set<OrderStatus> allowedTargets() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PROCESSING, CANCELLED, FAILED);
+            case PROCESSING -> EnumSet.of(SHIPPED, CANCELLED, FAILED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED, FAILED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return allowedTargets().contains(target);
+    }
+
+    /**
+     * Whether an order in this status counts towards its user's lifetime spend.
+     */
+    public boolean countsTowardSpend() {
+        return this != CANCELLED && this != FAILED;
+    }
+
+    public static Set<OrderStatus> countingTowardSpend() {
+        Set<OrderStatus> statuses = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.countsTowardSpend()) {
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Statuses an order may be in to be moved to {@code target}; used as the guard of set-based updates.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
@@ -1,12 +1,18 @@
 package com.orderservice.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
@@ -18,10 +24,12 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created_at_id", columnList = "user_id, created_at, id")
+})
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-public class Orders {
+public class Orders implements Persistable<String> {
 
     @Id
     @Column(name = "id", columnDefinition = "VARCHAR(36)")
@@ -34,6 +42,10 @@ public class Orders {
     @Column(name = "status", nullable = false)
     private OrderStatus status;
 
+    @Version // bumped by every status transition, including the set-based bulk updates
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "total_amount", precision = 10, scale = 2, nullable = false)
     private BigDecimal totalAmount;
 
@@ -52,6 +64,27 @@ public class Orders {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Ids are assigned by the application, so Spring Data cannot infer "new" from a null id.
+    // Without this flag every save() would issue a merge-style SELECT before the INSERT.
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     // Helper method to add order items and link them back to this order
     public void addOrderItem(OrderItem item) {
         orderItems.add(item);
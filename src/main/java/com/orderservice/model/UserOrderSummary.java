@@ -0,0 +1,43 @@
+package com.orderservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed order counters of one user. Never loaded and saved by the write path: checkout and
+ * status changes adjust it with atomic updates (see UserOrderSummaryRepository), and the rebuild
+ * job recomputes it from {@code orders}.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "user_order_summary")
+@Builder
+public class UserOrderSummary {
+
+    @Id
+    @Column(name = "user_id", columnDefinition = "VARCHAR(36)")
+    private String userId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "lifetime_spend", precision = 14, scale = 2, nullable = false)
+    private BigDecimal lifetimeSpend; // orders that are not CANCELLED or FAILED
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
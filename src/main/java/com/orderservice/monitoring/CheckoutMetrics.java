@@ -0,0 +1,53 @@
+package com.orderservice.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Instrumentation of order creation. Checkout and each of its phases are Micrometer observations,
+ * so each one yields both a timer ({@code orders.checkout}, and {@code orders.checkout.phase}
+ * tagged by phase, with an {@code error} tag on failure) and a trace span. The cart-service Feign
+ * call runs inside the cart_fetch span, and its trace context is propagated to cart-service.
+ */
+@Component
+public class CheckoutMetrics {
+
+    public static final String CART_FETCH = "cart_fetch";
+    public static final String PRICE_CHECK = "price_check";
+    public static final String MAPPING = "mapping";
+    public static final String DB_SAVE = "db_save";
+
+    private final ObservationRegistry observationRegistry;
+    private final DistributionSummary itemCount;
+
+    public CheckoutMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.itemCount = DistributionSummary.builder("orders.checkout.items")
+                .description("Number of line items per created order")
+                .baseUnit("items")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(meterRegistry);
+    }
+
+    public <T> T observeCheckout(Supplier<T> checkout) {
+        return Observation.createNotStarted("orders.checkout", observationRegistry)
+                .contextualName("checkout")
+                .observe(checkout);
+    }
+
+    public <T> T observePhase(String phase, Supplier<T> work) {
+        return Observation.createNotStarted("orders.checkout.phase", observationRegistry)
+                .contextualName("checkout " + phase)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(work);
+    }
+
+    public void recordItemCount(int items) {
+        itemCount.record(items);
+    }
+}
@@ -0,0 +1,43 @@
+package com.orderservice.outbox;
+
+import com.orderservice.model.OrderEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one JSON line ({@code {"id":..,"type":..,"aggregateId":..,"payload":{..}}})
+ * to a local file, with one write and one fsync per batch. Meant for local runs and tests.
+ */
+public class FileOrderEventSink implements OrderEventSink {
+
+    private final Path file;
+
+    public FileOrderEventSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<OrderEvent> events) {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (OrderEvent event : events) {
+            lines.append("{\"id\":\"").append(event.getId())
+                    .append("\",\"type\":\"").append(event.getEventType())
+                    .append("\",\"aggregateId\":\"").append(event.getAggregateId())
+                    .append("\",\"payload\":").append(event.getPayload())
+                    .append("}\n");
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.DSYNC)) {
+            writer.append(lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append order events to " + file, e);
+        }
+    }
+}
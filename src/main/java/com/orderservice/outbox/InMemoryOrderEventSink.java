@@ -0,0 +1,23 @@
+package com.orderservice.outbox;
+
+import com.orderservice.model.OrderEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process sink that keeps every relayed event, for tests and local experiments.
+ */
+public class InMemoryOrderEventSink implements OrderEventSink {
+
+    private final List<OrderEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OrderEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<OrderEvent> events() {
+        return List.copyOf(events);
+    }
+}
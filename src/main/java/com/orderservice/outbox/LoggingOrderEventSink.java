@@ -0,0 +1,18 @@
+package com.orderservice.outbox;
+
+import com.orderservice.model.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Default sink until a broker is wired in: records that events were relayed.
+ */
+@Slf4j
+public class LoggingOrderEventSink implements OrderEventSink {
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        log.info("Relayed {} order events (last: {})", events.size(), events.get(events.size() - 1).getId());
+    }
+}
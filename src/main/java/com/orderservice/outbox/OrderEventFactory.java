@@ -0,0 +1,47 @@
+package com.orderservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.dto.event.OrderEventPayload;
+import com.orderservice.dto.event.OrderStatusChangedPayload;
+import com.orderservice.model.OrderEvent;
+import com.orderservice.model.OrderEventType;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.util.UuidV7Generator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class OrderEventFactory {
+
+    private final ObjectMapper objectMapper;
+
+    public OrderEvent orderCreated(Orders order) {
+        LocalDateTime now = LocalDateTime.now();
+        return event(OrderEventType.ORDER_CREATED, order.getId(), new OrderEventPayload(order.getId(),
+                order.getUserId(), order.getStatus(), order.getTotalAmount(), order.getOrderItems().size(), now), now);
+    }
+
+    public OrderEvent statusChanged(String orderId, OrderStatus previousStatus, OrderStatus status, LocalDateTime now) {
+        return event(OrderEventType.ORDER_STATUS_CHANGED, orderId,
+                new OrderStatusChangedPayload(orderId, previousStatus, status, now), now);
+    }
+
+    private OrderEvent event(OrderEventType type, String orderId, Object payload, LocalDateTime now) {
+        try {
+            return OrderEvent.builder()
+                    .id(UuidV7Generator.nextId())
+                    .aggregateId(orderId)
+                    .eventType(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event for order " + orderId, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.orderservice.outbox;
+
+import com.orderservice.model.OrderEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events (e.g. a message broker). Implementations receive events in
+ * outbox order and must either accept the whole batch or throw, in which case the batch is
+ * redelivered later (at-least-once).
+ */
+public interface OrderEventSink {
+
+    void publish(List<OrderEvent> events);
+}
@@ -0,0 +1,101 @@
+package com.orderservice.outbox;
+
+import com.orderservice.model.OrderEvent;
+import com.orderservice.repository.OrderEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the order_events outbox to the configured {@link OrderEventSink} in batches.
+ * Every linger interval it publishes up to batch-size events per transaction, and keeps going
+ * without waiting while full batches come back, so a backlog drains at full speed while an idle
+ * outbox costs one cheap query per interval. Checkout never waits on this.
+ */
+@Component
+@ConditionalOnProperty(name = "xopix.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventSink orderEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter publishedEvents;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OrderEventRepository orderEventRepository,
+                       OrderEventSink orderEventSink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${xopix.outbox.batch-size:500}") int batchSize,
+                       @Value("${xopix.outbox.retention:P7D}") Duration retention) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderEventSink = orderEventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.publishedEvents = Counter.builder("orders.outbox.published").register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.outbox.batch").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${xopix.outbox.linger:PT0.2S}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            // The failed batch was rolled back and stays pending; it is retried on the next tick.
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes one batch of pending events and marks them published, in one transaction.
+     *
+     * @return the number of events published.
+     */
+    public int relayBatch() {
+        Integer published = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OrderEvent> batch = orderEventRepository.findPendingForUpdate(PageRequest.ofSize(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            orderEventSink.publish(batch);
+            List<String> ids = new ArrayList<>(batch.size());
+            for (OrderEvent event : batch) {
+                ids.add(event.getId());
+            }
+            orderEventRepository.markPublished(ids, LocalDateTime.now());
+            return batch.size();
+        }));
+        int count = published == null ? 0 : published;
+        publishedEvents.increment(count);
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${xopix.outbox.cleanup-interval:PT1H}")
+    public void deletePublishedEvents() {
+        Integer deleted = transactionTemplate.execute(status ->
+                orderEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} published order events older than {}", deleted, retention);
+        }
+    }
+}
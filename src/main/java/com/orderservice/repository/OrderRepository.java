@@ -1,12 +1,234 @@
 package com.orderservice.repository;
 
+import com.orderservice.model.OrderStatus;
 import com.orderservice.model.Orders;
+import com.orderservice.repository.projection.LockedOrderStatus;
+import com.orderservice.repository.projection.OrderExportRow;
+import com.orderservice.repository.projection.OrderItemRow;
+import com.orderservice.repository.projection.OrderRow;
+import com.orderservice.repository.projection.OrderStatusVersion;
+import com.orderservice.repository.projection.UserOrderTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Orders, String> {
-    Page<Orders> findByUserId(String userId, Pageable pageable);}
+    Page<Orders> findByUserId(String userId, Pageable pageable);
+
+    /**
+     * Phase one of the read path: one page of order rows, projected straight into DTOs.
+     * Returned as a Slice so no COUNT query is issued.
+     */
+    @Query("""
+            select new com.orderservice.repository.projection.OrderRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt)
+            from Orders o
+            where o.userId = :userId""")
+    Slice<OrderRow> findOrderRowsByUserId(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * Forward-only read of one user's orders matching the export filter, in creation order, joined
+     * with their items: one row per item, or one row with null item columns for an order without
+     * items, and the rows of an order follow each other. The order follows
+     * idx_orders_user_created_at_id, so the database reads the index range in order instead of
+     * sorting. Rows are DTOs, so nothing accumulates in the persistence context; the fetch size
+     * makes the driver pull them in chunks (MySQL needs useCursorFetch=true on the url for this).
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.orderservice.repository.projection.OrderExportRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt,
+                i.productId, i.productName, i.quantity, i.price, i.subtotal)
+            from Orders o left join o.orderItems i
+            where o.userId = :userId
+              and (:from is null or o.createdAt >= :from)
+              and (:to is null or o.createdAt < :to)
+              and o.status in :statuses
+            order by o.createdAt, o.id""")
+    Stream<OrderExportRow> streamUserOrderRowsForExport(@Param("userId") String userId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("statuses") Collection<OrderStatus> statuses);
+
+    /**
+     * Same as {@link #streamUserOrderRowsForExport} for the orders of all users, grouped by user
+     * in the order of idx_orders_user_created_at_id.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.orderservice.repository.projection.OrderExportRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt,
+                i.productId, i.productName, i.quantity, i.price, i.subtotal)
+            from Orders o left join o.orderItems i
+            where (:from is null or o.createdAt >= :from)
+              and (:to is null or o.createdAt < :to)
+              and o.status in :statuses
+            order by o.userId, o.createdAt, o.id""")
+    Stream<OrderExportRow> streamOrderRowsForExport(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("select o.userId from Orders o where o.id = :id")
+    Optional<String> findUserIdById(@Param("id") String id);
+
+    @Query("select o.status from Orders o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") String id);
+
+    @Query("""
+            select new com.orderservice.repository.projection.OrderRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt)
+            from Orders o
+            where o.id = :id""")
+    Optional<OrderRow> findOrderRowById(@Param("id") String id);
+
+    /**
+     * Phase one of a bulk lookup: the rows of the given orders, in no particular order.
+     */
+    @Query("""
+            select new com.orderservice.repository.projection.OrderRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt)
+            from Orders o
+            where o.id in :ids""")
+    List<OrderRow> findOrderRowsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * First keyset page of a user's history, newest first. Only the limit of the Pageable is
+     * used; returning a List means no COUNT query is issued.
+     */
+    @Query("""
+            select new com.orderservice.repository.projection.OrderRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt)
+            from Orders o
+            where o.userId = :userId
+            order by o.createdAt desc, o.id desc""")
+    List<OrderRow> findLatestOrderRowsByUserId(@Param("userId") String userId, Pageable limit);
+
+    /**
+     * Next keyset page of a user's history: orders strictly before the (createdAt, id) cursor.
+     * Served by idx_orders_user_created_at_id as a range scan, regardless of how deep the page is.
+     */
+    @Query("""
+            select new com.orderservice.repository.projection.OrderRow(
+                o.id, o.userId, o.status, o.totalAmount,
+                o.shippingAddress.street, o.shippingAddress.city, o.shippingAddress.state,
+                o.shippingAddress.zipCode, o.shippingAddress.country,
+                o.createdAt, o.updatedAt)
+            from Orders o
+            where o.userId = :userId
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc""")
+    List<OrderRow> findOrderRowsByUserIdBefore(@Param("userId") String userId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") String id,
+                                               Pageable limit);
+
+    /**
+     * Phase two of the read path: all items of the given orders in a single IN query.
+     */
+    @Query("""
+            select new com.orderservice.repository.projection.OrderItemRow(
+                i.orders.id, i.productId, i.productName, i.quantity, i.price, i.subtotal)
+            from OrderItem i
+            where i.orders.id in :orderIds
+            order by i.orders.id, i.id""")
+    List<OrderItemRow> findItemRowsByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    @Query("""
+            select new com.orderservice.repository.projection.OrderStatusVersion(
+                o.status, o.version, o.userId, o.totalAmount)
+            from Orders o
+            where o.id = :id""")
+    Optional<OrderStatusVersion> findStatusVersionById(@Param("id") String id);
+
+    /**
+     * Compare-and-set on the version column: returns 0 when another writer got there first.
+     */
+    @Modifying
+    @Query("""
+            update Orders o
+            set o.status = :status, o.version = o.version + 1, o.updatedAt = :updatedAt
+            where o.id = :id and o.version = :version""")
+    int updateStatusIfVersion(@Param("id") String id,
+                              @Param("version") long version,
+                              @Param("status") OrderStatus status,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Locks those of the given orders that are currently in one of {@code statuses}, so a bulk
+     * transition knows exactly which rows it moves and from where. Native because the JPQL lock
+     * hint does not apply to scalar selections.
+     */
+    @Query(value = """
+            select id as id, status as status, user_id as userId, total_amount as totalAmount
+            from orders
+            where id in (:ids) and status in (:statuses)
+            for update""", nativeQuery = true)
+    List<LockedOrderStatus> lockByIdInAndStatusIn(@Param("ids") Collection<String> ids,
+                                                  @Param("statuses") Collection<String> statuses);
+
+    /**
+     * Set-based status change for rows already locked by {@link #lockByIdInAndStatusIn}.
+     */
+    @Modifying
+    @Query("""
+            update Orders o
+            set o.status = :status, o.version = o.version + 1, o.updatedAt = :updatedAt
+            where o.id in :ids""")
+    int updateStatusByIdIn(@Param("ids") Collection<String> ids,
+                           @Param("status") OrderStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Next batch of distinct user ids after {@code after}, in id order; drives the summary rebuild.
+     */
+    @Query("select distinct o.userId from Orders o where o.userId > :after order by o.userId")
+    List<String> findUserIdsAfter(@Param("after") String after, Pageable limit);
 
+    /**
+     * Summary counters of the given users, aggregated from their orders.
+     */
+    @Query("""
+            select new com.orderservice.repository.projection.UserOrderTotals(
+                o.userId, count(o),
+                sum(case when o.status in :countedStatuses then o.totalAmount else cast(0 as BigDecimal) end),
+                max(o.createdAt))
+            from Orders o
+            where o.userId in :userIds
+            group by o.userId""")
+    List<UserOrderTotals> summarizeByUserIdIn(@Param("userIds") Collection<String> userIds,
+                                              @Param("countedStatuses") Collection<OrderStatus> countedStatuses);
+}
@@ -0,0 +1,71 @@
+package com.orderservice.repository;
+
+import com.orderservice.model.UserOrderSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, String> {
+
+    @Query("select s.userId from UserOrderSummary s where s.userId in :userIds")
+    List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * Creates an empty summary row. Fails with a constraint violation when the row already exists.
+     */
+    @Modifying
+    @Query("""
+            insert into UserOrderSummary (userId, orderCount, lifetimeSpend, lastOrderAt, updatedAt)
+            values (:userId, 0, 0, null, :now)""")
+    int insertEmpty(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Counts one new order in place, creating the row with the user's first order; concurrent
+     * checkouts of the same user serialize on the row lock and never lose an increment. MySQL
+     * upsert syntax (tests run H2 in MySQL mode).
+     */
+    @Modifying
+    @Query(value = """
+            insert into user_order_summary (user_id, order_count, lifetime_spend, last_order_at, updated_at)
+            values (:userId, 1, :amount, :orderedAt, :now)
+            on duplicate key update
+                order_count = order_count + 1,
+                lifetime_spend = lifetime_spend + :amount,
+                last_order_at = case when last_order_at is null or last_order_at < :orderedAt
+                                     then :orderedAt else last_order_at end,
+                updated_at = :now""", nativeQuery = true)
+    int addOrder(@Param("userId") String userId,
+                 @Param("amount") BigDecimal amount,
+                 @Param("orderedAt") LocalDateTime orderedAt,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Takes orders that stopped counting (cancelled or failed) out of the lifetime spend.
+     */
+    @Modifying
+    @Query("""
+            update UserOrderSummary s
+            set s.lifetimeSpend = s.lifetimeSpend - :amount, s.updatedAt = :now
+            where s.userId = :userId""")
+    int subtractSpend(@Param("userId") String userId,
+                      @Param("amount") BigDecimal amount,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Locks the summary rows a rebuild batch is about to overwrite, in key order, so that
+     * concurrent checkouts wait for the rebuilt values instead of being overwritten by them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserOrderSummary s where s.userId in :userIds order by s.userId")
+    List<UserOrderSummary> lockByUserIdIn(@Param("userIds") Collection<String> userIds);
+}
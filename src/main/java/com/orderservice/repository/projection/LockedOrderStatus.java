@@ -0,0 +1,17 @@
+package com.orderservice.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Row of the native {@code select ... for update} issued before a bulk transition.
+ * Status is the raw column value, as native queries do not map enums.
+ */
+public interface LockedOrderStatus {
+    String getId();
+
+    String getStatus();
+
+    String getUserId();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,40 @@
+package com.orderservice.repository.projection;
+
+import com.orderservice.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the order export: an {@code orders} row joined with one of its {@code order_items}.
+ * The item columns are null for an order without items.
+ */
+public record OrderExportRow(
+        String id,
+        String userId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String street,
+        String city,
+        String state,
+        String zipCode,
+        String country,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String productId,
+        String productName,
+        Integer quantity,
+        BigDecimal price,
+        BigDecimal subtotal) {
+
+    public OrderRow order() {
+        return new OrderRow(id, userId, status, totalAmount, street, city, state, zipCode, country, createdAt, updatedAt);
+    }
+
+    /**
+     * @return the item of this row, or null when the order has none
+     */
+    public OrderItemRow item() {
+        return productId == null ? null : new OrderItemRow(id, productId, productName, quantity, price, subtotal);
+    }
+}
@@ -0,0 +1,15 @@
+package com.orderservice.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat, unmanaged read-model of an {@code order_items} row, keyed by its parent order id.
+ */
+public record OrderItemRow(
+        String orderId,
+        String productId,
+        String productName,
+        int quantity,
+        BigDecimal price,
+        BigDecimal subtotal) {
+}
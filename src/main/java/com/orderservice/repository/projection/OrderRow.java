@@ -0,0 +1,24 @@
+package com.orderservice.repository.projection;
+
+import com.orderservice.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged read-model of an {@code orders} row (address columns inlined).
+ * Loaded through JPQL constructor expressions, so Hibernate keeps no entity snapshot for it.
+ */
+public record OrderRow(
+        String id,
+        String userId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String street,
+        String city,
+        String state,
+        String zipCode,
+        String country,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
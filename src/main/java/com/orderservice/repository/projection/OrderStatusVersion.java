@@ -0,0 +1,16 @@
+package com.orderservice.repository.projection;
+
+import com.orderservice.model.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Current status and optimistic-locking version of one order, plus the owner and amount the
+ * user's order summary needs when the order stops counting; all a single transition reads.
+ */
+public record OrderStatusVersion(
+        OrderStatus status,
+        long version,
+        String userId,
+        BigDecimal totalAmount) {
+}
@@ -0,0 +1,14 @@
+package com.orderservice.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Summary counters of one user aggregated from {@code orders}; what the summary rebuild writes.
+ */
+public record UserOrderTotals(
+        String userId,
+        long orderCount,
+        BigDecimal lifetimeSpend,
+        LocalDateTime lastOrderAt) {
+}
@@ -0,0 +1,78 @@
+package com.orderservice.security;
+
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.exception.OrderNotFoundException;
+import com.orderservice.service.OrderServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership checks for order endpoints, referenced from {@code @PreAuthorize} as {@code @orderAccess}.
+ * Orders loaded for a check are memoized for the current request and handed to the handler
+ * through {@link #authorizedOrder(String)}, so a view costs a single cache/database lookup.
+ */
+@Component("orderAccess")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAccessEvaluator {
+
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private final OrderServiceImpl orderServiceImpl;
+    private final OrderLookupMemo orderLookupMemo;
+
+    /**
+     * Whether the caller may view the full order. Admins are allowed without loading anything;
+     * otherwise the order is loaded once (cache first) and kept for the handler.
+     *
+     * @throws OrderNotFoundException if the order does not exist.
+     */
+    public boolean canView(Authentication authentication, String orderId) {
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        boolean owner = authorizedOrder(orderId).getUserId().equals(authentication.getName());
+        if (!owner) {
+            log.warn("User {} attempted to access order {} they do not own", authentication.getName(), orderId);
+        }
+        return owner;
+    }
+
+    /**
+     * In-memory check for an order the caller already loaded, e.g. each result of a bulk lookup.
+     */
+    public boolean canViewLoaded(Authentication authentication, OrderResponse order) {
+        return isAdmin(authentication) || order.getUserId().equals(authentication.getName());
+    }
+
+    /**
+     * Cheap ownership check for callers that do not need the order itself: reads only
+     * {@code user_id} of the order.
+     *
+     * @throws OrderNotFoundException if the order does not exist.
+     */
+    public boolean isOwner(Authentication authentication, String orderId) {
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        boolean owner = orderServiceImpl.getOrderOwnerId(orderId).equals(authentication.getName());
+        if (!owner) {
+            log.warn("User {} attempted to access order {} they do not own", authentication.getName(), orderId);
+        }
+        return owner;
+    }
+
+    /**
+     * The order for the current request, loaded at most once.
+     */
+    public OrderResponse authorizedOrder(String orderId) {
+        return orderLookupMemo.computeIfAbsent(orderId, orderServiceImpl::loadOrderResponse);
+    }
+
+    public static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()));
+    }
+}
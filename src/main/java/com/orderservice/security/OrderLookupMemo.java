@@ -0,0 +1,23 @@
+package com.orderservice.security;
+
+import com.orderservice.dto.OrderResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Per-request memo of loaded orders, so the authorization check and the handler share one load.
+ */
+@Component
+@RequestScope
+public class OrderLookupMemo {
+
+    private final Map<String, OrderResponse> ordersById = new HashMap<>(4);
+
+    public OrderResponse computeIfAbsent(String orderId, Function<String, OrderResponse> loader) {
+        return ordersById.computeIfAbsent(orderId, loader);
+    }
+}
@@ -0,0 +1,77 @@
+package com.orderservice.service;
+
+import com.orderservice.cache.ProductCache;
+import com.orderservice.dto.ProductResponse;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.exception.CartPriceMismatchException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks cart prices against the product catalog before an order is created, instead of trusting
+ * what cart-service reports. All of a cart's products are looked up at once through the
+ * {@link ProductCache}, so the check adds no per-item round trips.
+ * <p>
+ * A changed price or an unknown product rejects the checkout (409), so the client can refresh the
+ * cart. When the catalog cannot be reached and a product is not cached either, its line is let
+ * through unverified (and counted) rather than failing checkout on a product-service outage.
+ */
+@Component
+@Slf4j
+public class CheckoutPriceValidator {
+
+    private final ProductCache productCache;
+    private final boolean enabled;
+    private final Counter unverifiedLines;
+    private final Counter rejectedCheckouts;
+
+    public CheckoutPriceValidator(ProductCache productCache,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${xopix.checkout.price-validation.enabled:false}") boolean enabled) {
+        this.productCache = productCache;
+        this.enabled = enabled;
+        this.unverifiedLines = Counter.builder("orders.checkout.price_checks").tag("result", "unverified").register(meterRegistry);
+        this.rejectedCheckouts = Counter.builder("orders.checkout.price_checks").tag("result", "rejected").register(meterRegistry);
+    }
+
+    /**
+     * @throws CartPriceMismatchException if a line's price differs from the catalog price or its
+     *                                    product does not exist
+     */
+    public void validate(String cartId, List<CartItemDTO> cartItems) throws CartPriceMismatchException {
+        if (!enabled) {
+            return;
+        }
+        List<String> productIds = new ArrayList<>(cartItems.size());
+        for (CartItemDTO item : cartItems) {
+            productIds.add(item.getProductId());
+        }
+        ProductCache.ProductLookup lookup = productCache.getAll(productIds);
+
+        List<String> problems = new ArrayList<>();
+        for (CartItemDTO item : cartItems) {
+            ProductResponse product = lookup.products().get(item.getProductId());
+            if (product == null) {
+                if (lookup.complete()) {
+                    problems.add(item.getProductId() + " (unknown product)");
+                } else {
+                    unverifiedLines.increment();
+                }
+            } else if (product.getPrice() == null || product.getPrice().compareTo(item.getPrice()) != 0) {
+                problems.add(item.getProductId() + " (cart " + item.getPrice() + ", current " + product.getPrice() + ")");
+            }
+        }
+        if (!problems.isEmpty()) {
+            rejectedCheckouts.increment();
+            log.warn("Cart {} rejected at checkout, prices out of date: {}", cartId, problems);
+            throw new CartPriceMismatchException("Cart " + cartId + " is out of date for products "
+                    + String.join(", ", problems) + ". Refresh the cart and retry.");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.orderservice.service;
+
+import com.orderservice.dto.AddressDTO;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.Address;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.util.UuidV7Generator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a new {@link Orders} aggregate from cart items. Stateless, so it is safe to call from
+ * any number of concurrent checkouts.
+ */
+public final class OrderAssembler {
+
+    private OrderAssembler() {
+    }
+
+    /**
+     * Creates a PENDING order with one item per cart line. Subtotals and the order total are
+     * computed in the same pass that builds the items, so each line is multiplied exactly once.
+     * Ids are assigned up front (time-ordered UUIDv7) so the insert needs no generator round trip
+     * and Hibernate can batch the order and its items in one flush.
+     */
+    public static Orders newOrder(String orderId, String userId, AddressDTO address, List<CartItemDTO> cartItems) {
+        Orders order = Orders.builder()
+                .id(orderId)
+                .userId(userId)
+                .status(OrderStatus.PENDING) // Initial status
+                .shippingAddress(Address.builder()
+                        .street(address.getStreet())
+                        .city(address.getCity())
+                        .state(address.getState())
+                        .zipCode(address.getZipCode())
+                        .country(address.getCountry())
+                        .build())
+                .orderItems(new ArrayList<>(cartItems.size()))
+                .build();
+
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (CartItemDTO cartItem : cartItems) {
+            BigDecimal subtotal = cartItem.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
+            totalAmount = totalAmount.add(subtotal);
+            order.addOrderItem(OrderItem.builder() // Adds to list and sets parent order
+                    .id(UuidV7Generator.nextId())
+                    .productId(cartItem.getProductId())
+                    .productName(cartItem.getProductName())
+                    .quantity(cartItem.getQuantity())
+                    .price(cartItem.getPrice())
+                    .subtotal(subtotal)
+                    .build());
+        }
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+
+    /**
+     * A never-persisted copy of an order, with the same ids, for retrying an insert that was
+     * rolled back: the failed attempt leaves the original marked as saved (and versioned), so
+     * saving it again would be treated as an update of a row that does not exist.
+     */
+    public static Orders unsavedCopy(Orders order) {
+        Orders copy = Orders.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .shippingAddress(order.getShippingAddress())
+                .orderItems(new ArrayList<>(order.getOrderItems().size()))
+                .build();
+        for (OrderItem item : order.getOrderItems()) {
+            copy.addOrderItem(OrderItem.builder()
+                    .id(item.getId())
+                    .productId(item.getProductId())
+                    .productName(item.getProductName())
+                    .quantity(item.getQuantity())
+                    .price(item.getPrice())
+                    .subtotal(item.getSubtotal())
+                    .build());
+        }
+        return copy;
+    }
+}
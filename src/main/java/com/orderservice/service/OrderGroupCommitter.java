@@ -0,0 +1,271 @@
+package com.orderservice.service;
+
+import com.orderservice.model.Orders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write stage of checkout. Every order needs a commit, and under load the database's durable
+ * flush per commit, not the inserts, is what limits checkout throughput. With group commit
+ * enabled, orders from concurrent checkouts are queued and written by a few writer threads, each
+ * taking everything queued (up to {@code maxBatch}, waiting at most {@code maxWait} for more) and
+ * writing it in one transaction: one commit for the whole group. Each checkout waits only until
+ * the transaction holding its order commits.
+ * <p>
+ * If a group fails, its orders are written again one by one, so an order that cannot be saved
+ * fails only its own checkout. With group commit disabled, or once it has stopped, every order is
+ * written in its own transaction by the calling thread.
+ */
+@Component
+@Slf4j
+public class OrderGroupCommitter implements SmartLifecycle {
+
+    /**
+     * Stopped after the web server and asynchronous checkout, whose in-flight checkouts still
+     * write through here, and before the datasource is closed.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 8192;
+
+    private final OrderWriter orderWriter;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Duration maxWait;
+    private final int writers;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private final DistributionSummary groupSize;
+    private final Counter fallbacks;
+
+    private volatile boolean running;
+    private List<Thread> writerThreads = List.of();
+
+    public OrderGroupCommitter(OrderWriter orderWriter,
+                               MeterRegistry meterRegistry,
+                               @Value("${xopix.checkout.group-commit.enabled:false}") boolean enabled,
+                               @Value("${xopix.checkout.group-commit.max-batch:32}") int maxBatch,
+                               @Value("${xopix.checkout.group-commit.max-wait:PT0.002S}") Duration maxWait,
+                               @Value("${xopix.checkout.group-commit.writers:2}") int writers) {
+        this.orderWriter = orderWriter;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.maxWait = maxWait;
+        this.writers = writers;
+        this.groupSize = DistributionSummary.builder("orders.checkout.group_commit.size")
+                .description("Orders written per group commit")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("orders.checkout.group_commit.fallbacks")
+                .description("Group commits that failed and were retried order by order")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Saves a new order, waiting until it has been committed.
+     *
+     * @return the saved order
+     */
+    public Orders persist(Orders order) {
+        try {
+            return submit(order).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a new order in the next group commit.
+     *
+     * @return completes with the saved order when its group has committed, or with the reason it
+     * could not be saved
+     */
+    public CompletableFuture<Orders> submit(Orders order) {
+        submitLock.readLock().lock();
+        try {
+            if (running) {
+                CompletableFuture<Orders> result = new CompletableFuture<>();
+                queue.add(new PendingOrder(order, result));
+                return result;
+            }
+        } finally {
+            submitLock.readLock().unlock();
+        }
+        try {
+            return CompletableFuture.completedFuture(orderWriter.persistNewOrder(order));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Saves new orders in one transaction; if that fails, one by one in their own transactions.
+     *
+     * @return one completed future per order, in the order given
+     */
+    public List<CompletableFuture<Orders>> writeAll(List<Orders> orders) {
+        List<CompletableFuture<Orders>> results = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        write(orders, results);
+        return results;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        List<Thread> threads = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            threads.add(Thread.ofVirtual().name("order-group-commit-" + i).start(this::work));
+        }
+        writerThreads = threads;
+        log.info("Order group commit started: {} writers, up to {} orders or {} per commit", writers, maxBatch, maxWait);
+    }
+
+    /**
+     * Stops queueing orders and waits until the writers have committed everything already queued.
+     */
+    @Override
+    public void stop() {
+        submitLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        for (Thread writer : writerThreads) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void work() {
+        List<PendingOrder> group = new ArrayList<>(maxBatch);
+        while (true) {
+            PendingOrder first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return; // stopped and drained
+                }
+                continue;
+            }
+            group.add(first);
+            collect(group);
+            List<Orders> orders = new ArrayList<>(group.size());
+            List<CompletableFuture<Orders>> results = new ArrayList<>(group.size());
+            for (PendingOrder pending : group) {
+                orders.add(pending.order());
+                results.add(pending.result());
+            }
+            try {
+                write(orders, results);
+            } catch (RuntimeException e) {
+                // Not expected (failures are handled per order); never leave a checkout waiting.
+                log.error("Group commit of {} orders failed", orders.size(), e);
+                results.forEach(result -> result.completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    /**
+     * Adds whatever else is queued to the group, waiting up to {@code maxWait} (from now) for
+     * more while it is not full.
+     */
+    private void collect(List<PendingOrder> group) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (group.size() < maxBatch) {
+            queue.drainTo(group, maxBatch - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatch || remaining <= 0) {
+                return;
+            }
+            try {
+                PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                group.add(next);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<Orders> orders, List<CompletableFuture<Orders>> results) {
+        groupSize.record(orders.size());
+        if (orders.size() > 1) {
+            try {
+                Map<String, Orders> saved = new HashMap<>();
+                for (Orders savedOrder : orderWriter.persistNewOrders(orders)) {
+                    saved.put(savedOrder.getId(), savedOrder);
+                }
+                for (int i = 0; i < orders.size(); i++) {
+                    results.get(i).complete(saved.get(orders.get(i).getId()));
+                }
+                return;
+            } catch (RuntimeException e) {
+                fallbacks.increment();
+                log.warn("Group commit of {} orders failed, writing them one by one: {}", orders.size(), e.getMessage());
+            }
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            // A rolled-back group leaves its entities looking saved; write fresh copies instead.
+            Orders order = orders.size() > 1 ? OrderAssembler.unsavedCopy(orders.get(i)) : orders.get(i);
+            try {
+                results.get(i).complete(orderWriter.persistNewOrder(order));
+            } catch (RuntimeException e) {
+                results.get(i).completeExceptionally(e);
+            }
+        }
+    }
+
+    private record PendingOrder(Orders order, CompletableFuture<Orders> result) {
+    }
+}
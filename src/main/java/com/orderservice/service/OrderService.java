@@ -1,6 +1,7 @@
 package com.orderservice.service;
 
 
+import com.orderservice.dto.OrderHistoryPage;
 import com.orderservice.dto.OrderRequest;
 import com.orderservice.dto.OrderResponse;
 import com.orderservice.model.Orders;
@@ -11,6 +12,9 @@ import java.util.List;
 public interface OrderService {
     Orders createOrder(OrderRequest orderRequest, String userId);
     Orders getOrderById(String orderId, String userId);
+    OrderResponse getOrderResponseById(String orderId, String userId);
     Page<Orders> getOrdersByUserId(String userId, int page, int size, String sortBy, String sortDir);
+    List<OrderResponse> getOrderResponsesByUserId(String userId, int page, int size, String sortBy, String sortDir);
+    OrderHistoryPage getOrderHistory(String userId, String cursor, int size);
 }
 
@@ -1,114 +1,152 @@
 package com.orderservice.service;
 
 
-import com.orderservice.client.CartServiceClient;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceGateway;
+import com.orderservice.datasource.PrimaryReads;
+import com.orderservice.dto.OrderCursor;
+import com.orderservice.dto.OrderHistoryPage;
+import com.orderservice.dto.OrderItemResponse;
 import com.orderservice.dto.OrderRequest;
-import com.orderservice.dto.ProductResponse;
+import com.orderservice.dto.OrderResponse;
 import com.orderservice.dto.cart.CartDTO;
 import com.orderservice.exception.CartEmptyException;
 import com.orderservice.exception.CartNotFoundException;
+import com.orderservice.exception.CartPriceMismatchException;
+import com.orderservice.exception.CartServiceUnavailableException;
 import com.orderservice.exception.OrderNotFoundException;
-import com.orderservice.model.Address;
-import com.orderservice.model.OrderItem;
 import com.orderservice.model.OrderStatus;
 import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
 import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.projection.OrderItemRow;
+import com.orderservice.repository.projection.OrderRow;
+import com.orderservice.util.UuidV7Generator;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
 public class OrderServiceImpl implements OrderService{
 
-    @Autowired
-    private CartServiceClient cartServiceClient;
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     @Autowired
-    private RedisTemplate<String, ProductResponse> productResponseRedisTemplate;
+    private CartServiceGateway cartServiceGateway;
 
     @Autowired
     private OrderRepository orderRepository;
 
-    private CartDTO cartDTO;
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderGroupCommitter orderGroupCommitter;
 
-//    private static final String PRODUCT_CACHE_KEY_PREFIX = "product::";
+    @Autowired
+    private CheckoutMetrics checkoutMetrics;
+
+    @Autowired
+    private CheckoutPriceValidator checkoutPriceValidator;
 
+    @Value("${xopix.orders.lookup.chunk-size:500}")
+    private int lookupChunkSize;
 
     /**
      * Creates a new order from a shopping cart.
-     * In this basic phase, it saves the order.
-     * In later phases, this will trigger a Saga for distributed transactions.
+     * The order is saved together with an ORDER_CREATED outbox event; downstream services
+     * (and, later, the Saga for distributed transactions) react to that event.
      *
      * @param orderRequest The order creation request.
      * @param userId The ID of the authenticated user placing the order.
      * @return The created Order entity.
      * @throws CartNotFoundException if the cart does not exist.
      * @throws CartEmptyException if the cart is empty.
+     * @throws CartPriceMismatchException if cart prices no longer match the product catalog.
+     * @throws CartServiceUnavailableException if the cart service is failing or overloaded.
      */
     @Override
     public Orders createOrder(OrderRequest orderRequest, String userId) throws CartNotFoundException, CartEmptyException {
 
-        try {
-            cartDTO = cartServiceClient.getCartById(orderRequest.getCartId());
-        } catch (FeignException.NotFound e) {
-            log.warn("Cart with ID {} not found for order creation by user {}", orderRequest.getCartId(), userId);
-            throw new CartNotFoundException("Cart with ID " + orderRequest.getCartId() + " not found.");
-        }
+        // Everything below is request-local: this bean is a shared singleton and must hold no
+        // per-checkout state, so concurrent checkouts (e.g. on virtual threads) never interfere.
+        return checkoutMetrics.observeCheckout(() -> {
+            Orders newOrder = prepareOrder(UuidV7Generator.nextId(), orderRequest, userId);
+
+            // Order, items and the ORDER_CREATED outbox event commit together; the outbox relay
+            // publishes the event asynchronously, so no downstream call adds to checkout latency.
+            // With group commit on, that transaction is shared with concurrent checkouts.
+            Orders savedOrder = checkoutMetrics.observePhase(CheckoutMetrics.DB_SAVE,
+                    () -> orderGroupCommitter.persist(newOrder));
+            log.info("Order {} created for user {} from cart {}. Status: {}",
+                    savedOrder.getId(), userId, orderRequest.getCartId(), savedOrder.getStatus());
+
+            // Warm the cache: the client typically views the order right after checkout.
+            orderCache.put(OrderResponse.fromEntity(savedOrder));
+
+            // Clearing the cart (and, later, the Saga steps) is driven by consumers of the
+            // ORDER_CREATED event rather than by a synchronous call here.
+
+            return savedOrder;
+        });
+    }
+
+    /**
+     * The part of checkout before anything is written: fetches and checks the cart and assembles
+     * the order. Used by {@link #createOrder} and by asynchronous checkout, which writes the
+     * prepared orders in batches.
+     *
+     * @param orderId The ID the order will have.
+     * @param orderRequest The order creation request.
+     * @param userId The ID of the user placing the order.
+     * @return The new, not yet saved Order entity.
+     * @throws CartNotFoundException if the cart does not exist.
+     * @throws CartEmptyException if the cart is empty.
+     * @throws CartPriceMismatchException if cart prices no longer match the product catalog.
+     * @throws CartServiceUnavailableException if the cart service is failing or overloaded.
+     */
+    public Orders prepareOrder(String orderId, OrderRequest orderRequest, String userId)
+            throws CartNotFoundException, CartEmptyException {
+        CartDTO cartDTO = checkoutMetrics.observePhase(CheckoutMetrics.CART_FETCH,
+                () -> fetchCart(orderRequest.getCartId(), userId));
 
         if(cartDTO.getCartItems() == null || cartDTO.getCartItems().isEmpty()) {
             log.warn("Attempted to create order from empty cart {}.", orderRequest.getCartId());
             throw new CartEmptyException("Cannot create an order from an empty cart.");
         }
-
-        BigDecimal totalAmount = cartDTO.getCartItems().stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Address shippingAddress = Address.builder()
-                .street(orderRequest.getShippingAddress().getStreet())
-                .city(orderRequest.getShippingAddress().getCity())
-                .state(orderRequest.getShippingAddress().getState())
-                .zipCode(orderRequest.getShippingAddress().getZipCode())
-                .country(orderRequest.getShippingAddress().getCountry())
-                .build();
-
-        Orders newOrder = Orders.builder()
-                .userId(userId)
-                .status(OrderStatus.PENDING) // Initial status
-                .totalAmount(totalAmount)
-                .shippingAddress(shippingAddress)
-                .build();
-
-        cartDTO.getCartItems().forEach(cartItem -> {
-            OrderItem orderItem = OrderItem.builder()
-                    .productId(cartItem.getProductId())
-                    .productName(cartItem.getProductName())
-                    .quantity(cartItem.getQuantity())
-                    .price(cartItem.getPrice())
-                    .subtotal(cartItem.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())))
-                    .build();
-            newOrder.addOrderItem(orderItem); // Adds to list and sets parent order
+        checkoutMetrics.recordItemCount(cartDTO.getCartItems().size());
+        checkoutMetrics.observePhase(CheckoutMetrics.PRICE_CHECK, () -> {
+            checkoutPriceValidator.validate(orderRequest.getCartId(), cartDTO.getCartItems());
+            return null;
         });
 
+        return checkoutMetrics.observePhase(CheckoutMetrics.MAPPING, () -> OrderAssembler.newOrder(
+                orderId, userId, orderRequest.getShippingAddress(), cartDTO.getCartItems()));
+    }
 
-
-        Orders savedOrder = orderRepository.save(newOrder);
-        log.info("Order {} created for user {} from cart {}. Status: {}",
-                savedOrder.getId(), userId, orderRequest.getCartId(), savedOrder.getStatus());
-
-        // In a later phase, after successful order creation and perhaps inventory reservation,
-        // you we will clear the cart: cartServiceClient.clearCart(request.getCartId());
-
-        return savedOrder;
+    private CartDTO fetchCart(String cartId, String userId) {
+        try {
+            return cartServiceGateway.getCartById(cartId);
+        } catch (FeignException.NotFound e) {
+            log.warn("Cart with ID {} not found for order creation by user {}", cartId, userId);
+            throw new CartNotFoundException("Cart with ID " + cartId + " not found.");
+        }
     }
 
 
@@ -121,6 +159,7 @@ public class OrderServiceImpl implements OrderService{
      * @throws OrderNotFoundException if the order is not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public Orders getOrderById(String orderId, String userId) throws OrderNotFoundException {
         Orders order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found."));
@@ -136,6 +175,113 @@ public class OrderServiceImpl implements OrderService{
     }
 
 
+    /**
+     * Retrieves an order as a response DTO, reading through the Redis order cache.
+     * On a miss the order is loaded as projections (no managed entities) and cached.
+     *
+     * @param orderId The ID of the order.
+     * @param userId The ID of the authenticated user (for authorization check).
+     * @return The order response.
+     * @throws OrderNotFoundException if the order is not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderResponseById(String orderId, String userId) throws OrderNotFoundException {
+        OrderResponse order = loadOrderResponse(orderId);
+
+        if (!order.getUserId().equals(userId)) {
+            log.warn("User {} attempted to access order {} belonging to user {}", userId, orderId, order.getUserId());
+            throw new OrderNotFoundException("Order with ID " + orderId + " not found.");
+        }
+        return order;
+    }
+
+
+    /**
+     * Loads an order as a response DTO without any ownership check, reading through the
+     * order cache. Callers are responsible for authorization (see OrderAccessEvaluator).
+     *
+     * @param orderId The ID of the order.
+     * @return The order response.
+     * @throws OrderNotFoundException if the order is not found.
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse loadOrderResponse(String orderId) throws OrderNotFoundException {
+        return orderCache.get(orderId).orElseGet(() -> {
+            // Cached for its whole TTL, so never read from a replica that may not have the latest status yet.
+            OrderResponse loaded = PrimaryReads.call(() -> {
+                OrderRow row = orderRepository.findOrderRowById(orderId)
+                        .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found."));
+                return toOrderResponses(List.of(row)).get(0);
+            });
+            orderCache.put(loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * Loads many orders as response DTOs without any ownership check. Cached orders come from one
+     * MGET; the rest are read {@code lookupChunkSize} ids at a time, each chunk costing one IN
+     * query for the order rows and one for their items, on the primary. Orders read from the
+     * database are written back to the cache in one pipelined round trip.
+     * Callers are responsible for authorization (see OrderAccessEvaluator).
+     *
+     * @param orderIds The IDs of the orders; duplicates are looked up once.
+     * @return The orders that exist, by ID. Unknown IDs are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, OrderResponse> loadOrderResponses(Collection<String> orderIds) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(orderIds));
+        Map<String, OrderResponse> found = new HashMap<>(orderCache.getAll(ids));
+        List<String> misses = new ArrayList<>(ids.size() - found.size());
+        for (String id : ids) {
+            if (!found.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+        List<OrderResponse> loaded = new ArrayList<>(misses.size());
+        PrimaryReads.call(() -> { // cached, see loadOrderResponse
+            for (int from = 0; from < misses.size(); from += lookupChunkSize) {
+                List<String> chunk = misses.subList(from, Math.min(from + lookupChunkSize, misses.size()));
+                loaded.addAll(toOrderResponses(orderRepository.findOrderRowsByIdIn(chunk)));
+            }
+            return null;
+        });
+        for (OrderResponse order : loaded) {
+            found.put(order.getId(), order);
+        }
+        orderCache.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Reads only the owner of an order, for authorization checks that do not need its content.
+     *
+     * @param orderId The ID of the order.
+     * @return The ID of the user who placed the order.
+     * @throws OrderNotFoundException if the order is not found.
+     */
+    @Transactional(readOnly = true)
+    public String getOrderOwnerId(String orderId) throws OrderNotFoundException {
+        return orderRepository.findUserIdById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found."));
+    }
+
+    /**
+     * Reads only the status of an order, for callers that poll it without needing its content.
+     * Callers are responsible for authorization (see OrderAccessEvaluator).
+     *
+     * @param orderId The ID of the order.
+     * @return The current status.
+     * @throws OrderNotFoundException if the order is not found.
+     */
+    @Transactional(readOnly = true)
+    public OrderStatus getOrderStatus(String orderId) throws OrderNotFoundException {
+        return orderRepository.findStatusById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found."));
+    }
+
+
     /**
      * Retrieves all orders for a specific user with pagination and sorting.
      *
@@ -147,6 +293,7 @@ public class OrderServiceImpl implements OrderService{
      * @return A page of Order entities.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<Orders> getOrdersByUserId(String userId, int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -154,16 +301,78 @@ public class OrderServiceImpl implements OrderService{
         return orderRepository.findByUserId(userId, pageable);
     }
 
-//    private ProductResponse fetchProduct(Long productId) {
-//
-//        try {
-//            ProductResponse product = productClient.getProductById(productId);
-//            productResponseRedisTemplate.opsForValue().set(PRODUCT_CACHE_KEY_PREFIX + productId, product);
-//            logger.info("Cached product info in Redis for id {}", productId);
-//            return product;
-//        } catch (Exception e) {
-//            logger.info("Get product from redis cache for id {}", productId);
-//            return productResponseRedisTemplate.opsForValue().get(PRODUCT_CACHE_KEY_PREFIX+productId);
-//        }
-//    }
+    /**
+     * Retrieves a page of a user's orders as response DTOs in a bounded number of queries:
+     * one for the page of order rows and one IN query for all of their items.
+     * No entities are loaded, so there is no persistence-context or dirty-checking overhead.
+     *
+     * @param userId The ID of the user.
+     * @param page   Page number (0-indexed).
+     * @param size   Number of orders per page.
+     * @param sortBy Field to sort by.
+     * @param sortDir Sort direction (asc or desc).
+     * @return The orders of the requested page, in page order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrderResponsesByUserId(String userId, int page, int size, String sortBy, String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Slice<OrderRow> rows = orderRepository.findOrderRowsByUserId(userId, PageRequest.of(page, size, sort));
+        return toOrderResponses(rows.getContent());
+    }
+
+    /**
+     * Retrieves a user's order history newest first using keyset pagination on (createdAt, id).
+     * Unlike the offset API, the cost of a page does not grow with its depth and no COUNT query
+     * is issued.
+     *
+     * @param userId The ID of the user.
+     * @param cursor Opaque continuation token from a previous page, or null for the first page.
+     * @param requestedSize Number of orders per page, clamped to 1..{@value #MAX_HISTORY_PAGE_SIZE}.
+     * @return The orders of the page and the cursor of the next page (null on the last page).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderHistoryPage getOrderHistory(String userId, String cursor, int requestedSize) {
+        int size = Math.clamp(requestedSize, 1, MAX_HISTORY_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without counting.
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<OrderRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderRepository.findLatestOrderRowsByUserId(userId, limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            rows = orderRepository.findOrderRowsByUserIdBefore(userId, position.createdAt(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            OrderRow last = rows.get(size - 1);
+            nextCursor = new OrderCursor(last.createdAt(), last.id()).encode();
+        }
+        return new OrderHistoryPage(toOrderResponses(rows), nextCursor);
+    }
+
+    private List<OrderResponse> toOrderResponses(List<OrderRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<String> orderIds = new ArrayList<>(rows.size());
+        for (OrderRow row : rows) {
+            orderIds.add(row.id());
+        }
+
+        Map<String, List<OrderItemResponse>> itemsByOrderId = HashMap.newHashMap(rows.size());
+        for (OrderItemRow itemRow : orderRepository.findItemRowsByOrderIds(orderIds)) {
+            itemsByOrderId.computeIfAbsent(itemRow.orderId(), id -> new ArrayList<>())
+                    .add(OrderItemResponse.fromRow(itemRow));
+        }
+
+        List<OrderResponse> responses = new ArrayList<>(rows.size());
+        for (OrderRow row : rows) {
+            responses.add(OrderResponse.fromRow(row, itemsByOrderId.getOrDefault(row.id(), List.of())));
+        }
+        return responses;
+    }
 }
\ No newline at end of file
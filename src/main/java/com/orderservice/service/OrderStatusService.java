@@ -0,0 +1,154 @@
+package com.orderservice.service;
+
+import com.orderservice.cache.OrderCache;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.dto.BulkOrderStatusResult;
+import com.orderservice.exception.InvalidStatusTransitionException;
+import com.orderservice.exception.OrderNotFoundException;
+import com.orderservice.exception.OrderStatusConflictException;
+import com.orderservice.model.OrderEvent;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.projection.LockedOrderStatus;
+import com.orderservice.repository.projection.OrderStatusVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Moves orders through their {@link OrderStatus} lifecycle.
+ * <p>
+ * Single transitions read the current status and version, validate the move, and apply it with a
+ * version compare-and-set, so of two concurrent writers exactly one wins and the other gets a 409.
+ * Bulk transitions never load entities: each chunk locks its eligible rows with one
+ * {@code select ... for update}, moves them with one {@code update ... where id in (...)} and
+ * batch-inserts their outbox events, all in a short transaction of its own.
+ * <p>
+ * Moves that take an order out of its user's lifetime spend (cancelled, failed) update the user's
+ * order summary in the same transaction.
+ * <p>
+ * Cached responses are evicted after commit, and again shortly after (see {@link OrderCache}), so
+ * an old status that a concurrent cache miss read before the commit and put back is dropped
+ * after {@code re-evict-delay} rather than served for the whole TTL. The owners' reads are pinned to the
+ * primary for a while, so they see the new status even if replicas lag.
+ */
+@Service
+@Slf4j
+public class OrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventFactory orderEventFactory;
+    private final OrderCache orderCache;
+    private final UserOrderSummaryService userOrderSummaryService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderStatusService(OrderRepository orderRepository,
+                              OrderEventRepository orderEventRepository,
+                              OrderEventFactory orderEventFactory,
+                              OrderCache orderCache,
+                              UserOrderSummaryService userOrderSummaryService,
+                              ReadYourWritesTracker readYourWritesTracker,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${xopix.orders.status.bulk-chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderEventRepository = orderEventRepository;
+        this.orderEventFactory = orderEventFactory;
+        this.orderCache = orderCache;
+        this.userOrderSummaryService = userOrderSummaryService;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void transitionStatus(String orderId, OrderStatus target) {
+        OrderStatusVersion previous = transactionTemplate.execute(tx -> {
+            OrderStatusVersion current = orderRepository.findStatusVersionById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found."));
+            if (!current.status().canTransitionTo(target)) {
+                throw new InvalidStatusTransitionException("Order " + orderId + " cannot move from "
+                        + current.status() + " to " + target + ".");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (orderRepository.updateStatusIfVersion(orderId, current.version(), target, now) == 0) {
+                throw new OrderStatusConflictException("Order " + orderId
+                        + " was modified concurrently; reload it and retry.");
+            }
+            orderEventRepository.save(orderEventFactory.statusChanged(orderId, current.status(), target, now));
+            if (current.status().countsTowardSpend() && !target.countsTowardSpend()) {
+                userOrderSummaryService.recordSpendReversed(Map.of(current.userId(), current.totalAmount()));
+            }
+            return current;
+        });
+        orderCache.evict(orderId);
+        readYourWritesTracker.recordWrite(previous.userId());
+        log.info("Order {} moved from {} to {}", orderId, previous.status(), target);
+    }
+
+    public BulkOrderStatusResult bulkTransitionStatus(Collection<String> orderIds, OrderStatus target) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(orderIds));
+        List<String> sources = OrderStatus.sourcesOf(target).stream().map(Enum::name).toList();
+        List<String> rejected = new ArrayList<>();
+        int transitioned = 0;
+
+        if (!sources.isEmpty()) {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                List<LockedOrderStatus> moved = transactionTemplate.execute(tx -> transitionChunk(chunk, sources, target));
+                List<String> movedIds = moved.stream().map(LockedOrderStatus::getId).toList();
+                orderCache.evictAll(movedIds);
+                moved.stream().map(LockedOrderStatus::getUserId).distinct().forEach(readYourWritesTracker::recordWrite);
+                transitioned += moved.size();
+                if (moved.size() < chunk.size()) {
+                    Set<String> movedSet = new HashSet<>(movedIds);
+                    chunk.stream().filter(id -> !movedSet.contains(id)).forEach(rejected::add);
+                }
+            }
+        } else {
+            rejected.addAll(ids);
+        }
+
+        log.info("Bulk transition to {}: {} of {} orders moved, {} rejected", target, transitioned, ids.size(), rejected.size());
+        return new BulkOrderStatusResult(target, ids.size(), transitioned, rejected);
+    }
+
+    private List<LockedOrderStatus> transitionChunk(List<String> chunk, List<String> sources, OrderStatus target) {
+        List<LockedOrderStatus> locked = orderRepository.lockByIdInAndStatusIn(chunk, sources);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<String> lockedIds = new ArrayList<>(locked.size());
+        List<OrderEvent> events = new ArrayList<>(locked.size());
+        Map<String, BigDecimal> reversedSpend = new TreeMap<>();
+        for (LockedOrderStatus row : locked) {
+            OrderStatus previous = OrderStatus.valueOf(row.getStatus());
+            lockedIds.add(row.getId());
+            events.add(orderEventFactory.statusChanged(row.getId(), previous, target, now));
+            if (previous.countsTowardSpend() && !target.countsTowardSpend()) {
+                reversedSpend.merge(row.getUserId(), row.getTotalAmount(), BigDecimal::add);
+            }
+        }
+        orderRepository.updateStatusByIdIn(lockedIds, target, now);
+        orderEventRepository.saveAll(events);
+        userOrderSummaryService.recordSpendReversed(reversedSpend);
+        return locked;
+    }
+}
@@ -0,0 +1,68 @@
+package com.orderservice.service;
+
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.model.OrderEvent;
+import com.orderservice.model.Orders;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Transactional write side of checkout. Kept separate from {@link OrderServiceImpl} so that the
+ * cart-service call happens before, and outside of, the database transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderWriter {
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventFactory orderEventFactory;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final UserOrderSummaryService userOrderSummaryService;
+
+    /**
+     * Inserts the order, its items and its ORDER_CREATED outbox event in one transaction, so the
+     * event exists if and only if the order does, and counts it in the user's order summary. The
+     * user's reads are pinned to the primary for a while, so the new order shows up in their
+     * history even if replicas lag.
+     */
+    @Transactional
+    public Orders persistNewOrder(Orders order) {
+        Orders savedOrder = orderRepository.save(order);
+        orderEventRepository.save(orderEventFactory.orderCreated(savedOrder));
+        userOrderSummaryService.recordOrderCreated(savedOrder);
+        readYourWritesTracker.recordWrite(savedOrder.getUserId());
+        return savedOrder;
+    }
+
+    /**
+     * Batch form of {@link #persistNewOrder}: all orders, items and events in one transaction (and
+     * one commit), with the inserts batched by Hibernate. Orders are written in user order, so
+     * concurrent batches touching the same users update their summary rows in the same order.
+     * If any order fails, none is saved.
+     */
+    @Transactional
+    public List<Orders> persistNewOrders(List<Orders> orders) {
+        List<Orders> byUser = new ArrayList<>(orders);
+        byUser.sort(Comparator.comparing(Orders::getUserId));
+        List<Orders> savedOrders = orderRepository.saveAll(byUser);
+        List<OrderEvent> events = new ArrayList<>(savedOrders.size());
+        for (Orders savedOrder : savedOrders) {
+            events.add(orderEventFactory.orderCreated(savedOrder));
+        }
+        orderEventRepository.saveAll(events);
+        for (Orders savedOrder : savedOrders) {
+            userOrderSummaryService.recordOrderCreated(savedOrder);
+            readYourWritesTracker.recordWrite(savedOrder.getUserId());
+        }
+        return savedOrders;
+    }
+}
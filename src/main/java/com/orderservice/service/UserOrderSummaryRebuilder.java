@@ -0,0 +1,95 @@
+package com.orderservice.service;
+
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.UserOrderSummary;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import com.orderservice.repository.projection.UserOrderTotals;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes user order summaries from {@code orders}, a batch of users per transaction: for
+ * backfilling the table and for repairing drift. Each batch locks its summary rows before
+ * aggregating, so a checkout racing with the rebuild is either included in the aggregate or
+ * applied on top of it, never lost.
+ */
+@Component
+@Slf4j
+public class UserOrderSummaryRebuilder {
+
+    private final OrderRepository orderRepository;
+    private final UserOrderSummaryRepository summaryRepository;
+    private final UserOrderSummaryService summaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserOrderSummaryRebuilder(OrderRepository orderRepository,
+                                     UserOrderSummaryRepository summaryRepository,
+                                     UserOrderSummaryService summaryService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${xopix.orders.summary.rebuild-batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.summaryRepository = summaryRepository;
+        this.summaryService = summaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Off unless {@code xopix.orders.summary.rebuild-cron} is set.
+     */
+    @Scheduled(cron = "${xopix.orders.summary.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    /**
+     * @return the number of users whose summary was recomputed
+     */
+    public int rebuildAll() {
+        long start = System.nanoTime();
+        int rebuilt = 0;
+        String after = "";
+        List<String> userIds;
+        while (!(userIds = orderRepository.findUserIdsAfter(after, PageRequest.ofSize(batchSize))).isEmpty()) {
+            rebuildBatch(userIds);
+            rebuilt += userIds.size();
+            after = userIds.getLast();
+        }
+        log.info("Rebuilt order summaries of {} users in {} ms", rebuilt, (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+
+    private void rebuildBatch(List<String> userIds) {
+        summaryService.ensureSummaryRows(userIds);
+        Set<OrderStatus> counted = OrderStatus.countingTowardSpend();
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<UserOrderSummary> summaries = summaryRepository.lockByUserIdIn(userIds);
+            Map<String, UserOrderTotals> totals = orderRepository.summarizeByUserIdIn(userIds, counted).stream()
+                    .collect(Collectors.toMap(UserOrderTotals::userId, Function.identity()));
+            LocalDateTime now = LocalDateTime.now();
+            for (UserOrderSummary summary : summaries) {
+                UserOrderTotals userTotals = totals.get(summary.getUserId());
+                summary.setOrderCount(userTotals != null ? userTotals.orderCount() : 0);
+                summary.setLifetimeSpend(userTotals != null ? userTotals.lifetimeSpend() : BigDecimal.ZERO);
+                summary.setLastOrderAt(userTotals != null ? userTotals.lastOrderAt() : null);
+                summary.setUpdatedAt(now);
+            }
+            // Managed entities: the changes are flushed as one batch of updates on commit.
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.orderservice.service;
+
+import com.orderservice.dto.UserOrderSummaryResponse;
+import com.orderservice.model.Orders;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the per-user order summary incrementally, inside the transactions that change orders.
+ * <p>
+ * Counters are adjusted with single in-place updates, so concurrent checkouts of one user queue on
+ * the summary row rather than overwrite each other. A user's first order creates the row in the
+ * same statement (an upsert), so checkout costs no extra query or transaction. The summary is
+ * derived data: if it ever drifts, {@link UserOrderSummaryRebuilder} recomputes it from orders.
+ */
+@Service
+@Slf4j
+public class UserOrderSummaryService {
+
+    private final UserOrderSummaryRepository summaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserOrderSummaryService(UserOrderSummaryRepository summaryRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Summary of one user; users without orders get zeroes. A primary-key lookup, whatever the
+     * number of orders.
+     */
+    @Transactional(readOnly = true)
+    public UserOrderSummaryResponse getSummary(String userId) {
+        return summaryRepository.findById(userId)
+                .map(UserOrderSummaryResponse::fromEntity)
+                .orElseGet(() -> UserOrderSummaryResponse.empty(userId));
+    }
+
+    /**
+     * Makes sure the users have summary rows, for the rebuild to lock. Call outside of any
+     * transaction.
+     */
+    public void ensureSummaryRows(Collection<String> userIds) {
+        Set<String> missing = new HashSet<>(userIds);
+        summaryRepository.findExistingUserIds(userIds).forEach(missing::remove);
+        missing.forEach(this::insertEmpty);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreated(Orders order) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime orderedAt = order.getCreatedAt() != null ? order.getCreatedAt() : now;
+        BigDecimal spend = order.getStatus().countsTowardSpend() ? order.getTotalAmount() : BigDecimal.ZERO;
+        summaryRepository.addOrder(order.getUserId(), spend, orderedAt, now);
+    }
+
+    /**
+     * Takes orders that moved to a status not counting towards spend out of their users' lifetime
+     * spend. Users are updated in key order, so concurrent bulk transitions lock summary rows in
+     * the same order.
+     *
+     * @param amountsByUser amount to subtract per user id; sorted maps keep the lock order stable
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSpendReversed(Map<String, BigDecimal> amountsByUser) {
+        LocalDateTime now = LocalDateTime.now();
+        amountsByUser.forEach((userId, amount) -> summaryRepository.subtractSpend(userId, amount, now));
+    }
+
+    private void insertEmpty(String userId) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> summaryRepository.insertEmpty(userId, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another checkout or the rebuild; that row is as good as ours.
+            log.debug("Order summary row for user {} already exists", userId);
+        }
+    }
+}
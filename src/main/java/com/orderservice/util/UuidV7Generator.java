@@ -0,0 +1,47 @@
+package com.orderservice.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDv7 identifiers (RFC 9562).
+ * The leading 48 bits carry the Unix epoch milliseconds, so consecutive ids land at the
+ * tail of the MySQL primary-key B-tree instead of splitting random pages.
+ * The 12-bit rand_a field is used as a per-millisecond sequence to keep ids strictly
+ * monotonic within this JVM.
+ */
+public final class UuidV7Generator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    // (epochMillis << 12) | sequence of the last id handed out
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private UuidV7Generator() {
+    }
+
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << 12;
+        long previous;
+        long state;
+        do {
+            previous = LAST_STATE.get();
+            // Same millisecond (or clock moved backwards): bump the sequence. On sequence
+            // overflow this borrows the next millisecond, which keeps ordering intact.
+            state = candidate > previous ? candidate : previous + 1;
+        } while (!LAST_STATE.compareAndSet(previous, state));
+
+        long millis = state >>> 12;
+        long sequence = state & 0xFFFL;
+        long msb = (millis << 16) | VERSION_7 | sequence;
+        long lsb = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new UUID(msb, lsb);
+    }
+
+    public static String nextId() {
+        return next().toString();
+    }
+}
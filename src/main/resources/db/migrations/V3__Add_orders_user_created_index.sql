@@ -0,0 +1,4 @@
+-- V3__Add_orders_user_created_index.sql
+-- Backs the per-user order history: equality on user_id, then a keyset range on (created_at, id).
+-- InnoDB scans the index backwards for the newest-first order, so no DESC index is needed.
+CREATE INDEX idx_orders_user_created_at_id ON orders (user_id, created_at, id);
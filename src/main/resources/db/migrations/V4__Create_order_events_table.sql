@@ -0,0 +1,12 @@
+-- V4__Create_order_events_table.sql
+-- Transactional outbox: rows are written in the same transaction as the order change and
+-- drained asynchronously by the outbox relay.
+CREATE TABLE order_events (
+    id VARCHAR(36) PRIMARY KEY NOT NULL, -- UUIDv7, so id order is creation order
+    aggregate_id VARCHAR(36) NOT NULL,   -- order id
+    event_type VARCHAR(50) NOT NULL,     -- e.g. ORDER_CREATED
+    payload TEXT NOT NULL,               -- JSON
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6) NULL,
+    INDEX idx_order_events_pending (published_at, id)
+);
@@ -0,0 +1,4 @@
+-- V5__Add_orders_version.sql
+-- Optimistic-locking version for Orders. Every status transition bumps it, so two writers that
+-- read the same version cannot both win.
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- V6__Create_user_order_summary_table.sql
+-- Per-user order counters, maintained in the same transaction as order creation and status
+-- changes, so account pages read one row instead of aggregating over orders.
+CREATE TABLE user_order_summary (
+    user_id VARCHAR(36) PRIMARY KEY NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    lifetime_spend DECIMAL(14, 2) NOT NULL DEFAULT 0, -- excludes CANCELLED and FAILED orders
+    last_order_at DATETIME(6) NULL,
+    updated_at DATETIME(6) NOT NULL
+);
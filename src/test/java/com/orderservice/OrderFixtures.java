@@ -0,0 +1,51 @@
+package com.orderservice;
+
+import com.orderservice.dto.AddressDTO;
+import com.orderservice.dto.OrderRequest;
+import com.orderservice.model.Address;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.util.UuidV7Generator;
+
+import java.math.BigDecimal;
+
+/**
+ * Test data shared across tests: one shipping address, and the orders and checkout requests that
+ * use it.
+ */
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    public static Address address() {
+        return new Address("1 Main St", "Xopix City", "XY", "12345", "USA");
+    }
+
+    public static AddressDTO addressDto() {
+        Address address = address();
+        return new AddressDTO(address.getStreet(), address.getCity(), address.getState(), address.getZipCode(),
+                address.getCountry());
+    }
+
+    /**
+     * A new PENDING order of 10.00 for {@code userId}, with a fresh id and no items; tests override
+     * whatever they care about before building it.
+     */
+    public static Orders.OrdersBuilder order(String userId) {
+        return Orders.builder()
+                .id(UuidV7Generator.nextId())
+                .userId(userId)
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN)
+                .shippingAddress(address());
+    }
+
+    public static OrderRequest request(String cartId) {
+        OrderRequest request = new OrderRequest();
+        request.setCartId(cartId);
+        request.setPaymentMethodId("pm_card_visa");
+        request.setShippingAddress(addressDto());
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package com.orderservice.admission;
+
+import com.orderservice.exception.CartEmptyException;
+import com.orderservice.exception.CartServiceUnavailableException;
+import com.orderservice.exception.CheckoutOverloadedException;
+import com.orderservice.exception.CheckoutRateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckoutAdmissionControlTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000 * MILLIS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void userBeyondTheirBurstIsRateLimitedUntilATokenIsRefilled() {
+        CheckoutAdmissionControl admission = admission(new UserRateLimiter(1, 2, 100, now::get), limiter(10, 1, 10));
+
+        assertThat(admission.admit("user1", () -> "order-1")).isEqualTo("order-1");
+        assertThat(admission.admit("user1", () -> "order-2")).isEqualTo("order-2");
+        assertThatThrownBy(() -> admission.admit("user1", () -> "order-3"))
+                .isInstanceOfSatisfying(CheckoutRateLimitedException.class,
+                        e -> assertThat(e.getRetryAfter()).isBetween(Duration.ofMillis(999), Duration.ofMillis(1001)));
+        assertThat(admission.admit("user2", () -> "order-4")).isEqualTo("order-4");
+
+        now.addAndGet(1_001 * MILLIS);
+        assertThat(admission.admit("user1", () -> "order-5")).isEqualTo("order-5");
+        assertThat(requests("rate_limited")).isEqualTo(1.0);
+        assertThat(requests("admitted")).isEqualTo(4.0);
+    }
+
+    @Test
+    void checkoutBeyondTheConcurrencyLimitIsShedImmediately() {
+        CheckoutAdmissionControl admission = admission(new UserRateLimiter(100, 100, 100, now::get), limiter(1, 1, 1));
+
+        assertThatThrownBy(() -> admission.admit("user1", () -> admission.admit("user2", () -> "order-2")))
+                .isInstanceOf(CheckoutOverloadedException.class);
+        assertThat(requests("overloaded")).isEqualTo(1.0);
+        assertThat(admission.admit("user2", () -> "order-2")).isEqualTo("order-2"); // the slot was released
+    }
+
+    @Test
+    void limitGrowsWhileSaturatedAndBacksOffOncePerLatencyWhenCheckoutsSlowDown() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 2, 100);
+        now.addAndGet(1_000 * MILLIS);
+
+        completeConcurrently(limiter, 4, 10 * MILLIS); // grows while at least half the limit is in use
+        assertThat(limiter.getLimit()).isEqualTo(6);
+
+        completeConcurrently(limiter, 4, 50 * MILLIS); // 5x the baseline: one back-off for the burst
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        now.addAndGet(50 * MILLIS);
+        completeConcurrently(limiter, 1, 50 * MILLIS);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void onlyServerSideFailuresCountAsOverload() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 10);
+        CheckoutAdmissionControl admission = admission(new UserRateLimiter(100, 100, 100, now::get), limiter);
+        now.addAndGet(1_000 * MILLIS);
+
+        assertThatThrownBy(() -> admission.admit("user1", () -> {
+            throw new CartEmptyException("Cart is empty");
+        })).isInstanceOf(CartEmptyException.class);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        assertThatThrownBy(() -> admission.admit("user1", () -> {
+            throw new CartServiceUnavailableException("Cart service is unavailable", null);
+        })).isInstanceOf(CartServiceUnavailableException.class);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private void completeConcurrently(AdaptiveConcurrencyLimiter limiter, int calls, long latencyNanos) {
+        for (int i = 0; i < calls; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < calls; i++) {
+            limiter.release(latencyNanos, false);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 2.0, 0.9, 1000, now::get);
+    }
+
+    private CheckoutAdmissionControl admission(UserRateLimiter userRateLimiter, AdaptiveConcurrencyLimiter limiter) {
+        return new CheckoutAdmissionControl(meterRegistry, true, userRateLimiter, limiter);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("orders.admission.requests").tag("result", result).counter().count();
+    }
+}
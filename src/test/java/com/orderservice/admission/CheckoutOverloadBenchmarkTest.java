@@ -0,0 +1,108 @@
+package com.orderservice.admission;
+
+import com.orderservice.exception.CheckoutOverloadedException;
+import com.orderservice.exception.CheckoutRateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-loop load generator offering twice the checkout capacity: checkouts take {@value SERVICE_MILLIS} ms
+ * and hold one of {@value CAPACITY} backend slots (the connection pool, cart-service), arriving at a
+ * fixed rate regardless of how fast they complete, as during a flash sale. Without admission
+ * control the backlog, and with it every checkout's latency, grows for as long as the overload
+ * lasts; with it, excess checkouts are shed and admitted ones keep their unloaded latency.
+ * Opt-in: {@code mvn test -Dbenchmarks=true -Dtest=CheckoutOverloadBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CheckoutOverloadBenchmarkTest {
+
+    private static final int CAPACITY = 16;
+    private static final long SERVICE_MILLIS = 20;
+    private static final int OFFERED_PER_SECOND = 2 * CAPACITY * 1000 / (int) SERVICE_MILLIS;
+    private static final int DURATION_SECONDS = 3;
+    private static final int USERS = 10_000;
+
+    @Test
+    void admittedCheckoutsKeepTheirLatencyUnderOverload() throws Exception {
+        Run unprotected = run(new CheckoutAdmissionControl(new SimpleMeterRegistry(), false,
+                new UserRateLimiter(1, 1, USERS), limiter()));
+        Run protectedRun = run(new CheckoutAdmissionControl(new SimpleMeterRegistry(), true,
+                new UserRateLimiter(10, 10, USERS), limiter()));
+
+        log.info("Offered {}/s for {} s to a capacity of {}/s", OFFERED_PER_SECOND, DURATION_SECONDS,
+                CAPACITY * 1000 / SERVICE_MILLIS);
+        log.info("Without admission control: {}", unprotected);
+        log.info("With admission control:    {}", protectedRun);
+        assertThat(protectedRun.shed()).isPositive();
+        assertThat(protectedRun.p99Millis()).isLessThan(10 * SERVICE_MILLIS);
+        assertThat(protectedRun.p99Millis()).isLessThan(unprotected.p99Millis() / 5);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(20, 4, 200, 2.0, 0.9, 1000);
+    }
+
+    private static Run run(CheckoutAdmissionControl admission) {
+        Semaphore backend = new Semaphore(CAPACITY, true);
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger shed = new AtomicInteger();
+        long interval = TimeUnit.SECONDS.toNanos(1) / OFFERED_PER_SECOND;
+        int requests = OFFERED_PER_SECOND * DURATION_SECONDS;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                LockSupport.parkNanos(next - System.nanoTime());
+                next += interval;
+                String userId = "user" + ThreadLocalRandom.current().nextInt(USERS);
+                clients.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        admission.admit(userId, () -> checkout(backend));
+                        latencies.add(System.nanoTime() - start);
+                    } catch (CheckoutOverloadedException | CheckoutRateLimitedException e) {
+                        shed.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        sorted.sort(null);
+        return new Run(sorted.size(), shed.get(), millis(sorted, 0.50), millis(sorted, 0.99));
+    }
+
+    private static Object checkout(Semaphore backend) {
+        backend.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(SERVICE_MILLIS));
+            return null;
+        } finally {
+            backend.release();
+        }
+    }
+
+    private static long millis(List<Long> sorted, double quantile) {
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+
+    private record Run(int completed, int shed, long p50Millis, long p99Millis) {
+    }
+}
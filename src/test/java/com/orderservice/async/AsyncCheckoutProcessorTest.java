@@ -0,0 +1,235 @@
+package com.orderservice.async;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceClient;
+import com.orderservice.client.CartServiceGateways;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.dto.OrderRequest;
+import com.orderservice.dto.cart.CartDTO;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.exception.CheckoutOverloadedException;
+import com.orderservice.monitoring.CheckoutMetrics;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import com.orderservice.service.CheckoutPriceValidator;
+import com.orderservice.service.OrderGroupCommitter;
+import com.orderservice.service.OrderServiceImpl;
+import com.orderservice.service.OrderWriter;
+import com.orderservice.service.UserOrderSummaryService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Asynchronous checkout against a real (H2) database, with cart-service stubbed: every accepted
+ * checkout must end up as an order or a recorded failure, including across a shutdown that
+ * starts while checkouts are still queued.
+ */
+@DataJpaTest
+@Import({OrderWriter.class, OrderEventFactory.class, ReadYourWritesTracker.class, UserOrderSummaryService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the processor commits its own batches
+class AsyncCheckoutProcessorTest {
+
+    private static final int CHECKOUTS = 500;
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private UserOrderSummaryRepository summaryRepository;
+
+    private volatile CountDownLatch cartServiceGate = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        summaryRepository.deleteAll();
+    }
+
+    @Test
+    void noAcceptedCheckoutIsLostAcrossShutdown() throws Exception {
+        AsyncCheckoutProcessor processor = processor(CHECKOUTS, 4, 50);
+        processor.start();
+
+        List<Future<AcceptedCheckout>> results = new ArrayList<>(CHECKOUTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int n = 0; n < CHECKOUTS; n++) {
+                OrderRequest request = OrderFixtures.request("cart-" + n);
+                String userId = "user-" + n % 10;
+                results.add(clients.submit(() -> processor.accept(request, userId)));
+            }
+        }
+        List<String> orderIds = new ArrayList<>(CHECKOUTS);
+        for (Future<AcceptedCheckout> result : results) {
+            orderIds.add(result.get().orderId());
+        }
+
+        processor.stop(); // most checkouts are still queued at this point
+
+        assertThat(orderRepository.findAllById(orderIds)).hasSize(CHECKOUTS);
+        assertThat(orderEventRepository.count()).isEqualTo(CHECKOUTS);
+        assertThat(orderIds).allSatisfy(orderId ->
+                assertThat(processor.status(orderId)).get().extracting(TrackedCheckout::state).isEqualTo(CheckoutState.COMPLETED));
+        assertThatThrownBy(() -> processor.accept(OrderFixtures.request("cart-late"), "user-1"))
+                .isInstanceOf(CheckoutOverloadedException.class);
+    }
+
+    @Test
+    void fullQueueRejectsCheckoutsUntilWorkersCatchUp() {
+        cartServiceGate = new CountDownLatch(1);
+        AsyncCheckoutProcessor processor = processor(2, 1, 1);
+        processor.start();
+
+        String first = processor.accept(OrderFixtures.request("cart-1"), "user-1").orderId();
+        awaitState(processor, first, CheckoutState.PROCESSING); // the only worker is now stuck on cart-service
+        processor.accept(OrderFixtures.request("cart-2"), "user-1");
+        processor.accept(OrderFixtures.request("cart-3"), "user-1");
+
+        assertThatThrownBy(() -> processor.accept(OrderFixtures.request("cart-4"), "user-1"))
+                .isInstanceOf(CheckoutOverloadedException.class)
+                .hasMessageContaining("queue is full");
+
+        cartServiceGate.countDown();
+        processor.stop();
+        assertThat(orderRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidOrdersFailAloneWithoutFailingTheirBatch() {
+        cartServiceGate = new CountDownLatch(1);
+        AsyncCheckoutProcessor processor = processor(100, 1, 10);
+        processor.start();
+
+        String first = processor.accept(OrderFixtures.request("cart-0"), "user-1").orderId();
+        awaitState(processor, first, CheckoutState.PROCESSING);
+        List<String> batch = new ArrayList<>();
+        for (int n = 1; n <= 8; n++) { // with the two below, exactly one batch
+            batch.add(processor.accept(OrderFixtures.request("cart-" + n), "user-" + n).orderId());
+        }
+        String empty = processor.accept(OrderFixtures.request("cart-empty"), "user-1").orderId();
+        String unnamed = processor.accept(OrderFixtures.request("cart-unnamed"), "user-1").orderId(); // violates NOT NULL on insert
+        cartServiceGate.countDown();
+        processor.stop();
+
+        assertThat(processor.status(empty)).get()
+                .isEqualTo(new TrackedCheckout("user-1", CheckoutState.FAILED, CheckoutError.CART_EMPTY));
+        assertThat(processor.status(unnamed)).get()
+                .isEqualTo(new TrackedCheckout("user-1", CheckoutState.FAILED, CheckoutError.ORDER_NOT_SAVED));
+        assertThat(orderRepository.findAllById(batch)).hasSize(8);
+        assertThat(orderRepository.count()).isEqualTo(9);
+    }
+
+    @Test
+    void batchesStayWithinTheCartServiceBulkhead() {
+        Bulkhead bulkhead = Bulkhead.of("cart-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(8).maxWaitDuration(Duration.ZERO).build());
+        AtomicInteger rejected = new AtomicInteger();
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.incrementAndGet());
+        AsyncCheckoutProcessor processor = processor(CHECKOUTS, 4, 50, bulkhead);
+        processor.start();
+
+        List<String> orderIds = new ArrayList<>(CHECKOUTS);
+        for (int n = 0; n < CHECKOUTS; n++) {
+            orderIds.add(processor.accept(OrderFixtures.request("cart-" + n), "user-" + n % 10).orderId());
+        }
+        processor.stop();
+
+        assertThat(rejected).hasValue(0);
+        assertThat(orderIds).allSatisfy(orderId ->
+                assertThat(processor.status(orderId)).get().extracting(TrackedCheckout::state).isEqualTo(CheckoutState.COMPLETED));
+        assertThat(orderRepository.count()).isEqualTo(CHECKOUTS);
+    }
+
+    private AsyncCheckoutProcessor processor(int queueCapacity, int workers, int batchSize) {
+        return processor(queueCapacity, workers, batchSize, Bulkhead.of("cart-service",
+                BulkheadConfig.custom().maxConcurrentCalls(Integer.MAX_VALUE).build()));
+    }
+
+    private AsyncCheckoutProcessor processor(int queueCapacity, int workers, int batchSize, Bulkhead cartBulkhead) {
+        OrderServiceImpl orderService = new OrderServiceImpl();
+        ReflectionTestUtils.setField(orderService, "cartServiceGateway",
+                CartServiceGateways.bounded(cartService(), cartBulkhead));
+        ReflectionTestUtils.setField(orderService, "orderCache", mock(OrderCache.class));
+        ReflectionTestUtils.setField(orderService, "checkoutMetrics",
+                new CheckoutMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(orderService, "checkoutPriceValidator", mock(CheckoutPriceValidator.class));
+        OrderGroupCommitter orderGroupCommitter = new OrderGroupCommitter(orderWriter, new SimpleMeterRegistry(),
+                false, 32, Duration.ZERO, 1);
+        return new AsyncCheckoutProcessor(orderService, orderGroupCommitter, mock(OrderCache.class), cartBulkhead,
+                new SimpleMeterRegistry(), true, queueCapacity, workers, batchSize, Duration.ofMinutes(15),
+                Duration.ofSeconds(30));
+    }
+
+    /**
+     * Two lines per cart; "cart-empty" has none and "cart-unnamed" has a line without a product name.
+     */
+    private CartServiceClient cartService() {
+        return cartId -> {
+            try {
+                cartServiceGate.await();
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CartDTO cart = new CartDTO();
+            cart.setId(cartId);
+            List<CartItemDTO> items = new ArrayList<>();
+            if (!cartId.equals("cart-empty")) {
+                for (int j = 0; j < 2; j++) {
+                    CartItemDTO item = new CartItemDTO();
+                    item.setProductId(cartId + "-product-" + j);
+                    item.setProductName(cartId.equals("cart-unnamed") ? null : "Product " + j);
+                    item.setPrice(new BigDecimal("9.99"));
+                    item.setQuantity(1);
+                    items.add(item);
+                }
+            }
+            cart.setCartItems(items);
+            return cart;
+        };
+    }
+
+    private static void awaitState(AsyncCheckoutProcessor processor, String orderId, CheckoutState state) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (processor.status(orderId).map(TrackedCheckout::state).orElse(null) != state) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
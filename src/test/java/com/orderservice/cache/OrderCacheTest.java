@@ -0,0 +1,189 @@
+package com.orderservice.cache;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.dto.OrderItemResponse;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises the cache against an in-process Redis stand-in: a map of serialized values, so every
+ * read and write goes through {@link OrderResponseRedisSerializer} exactly as it would on the wire.
+ */
+class OrderCacheTest {
+
+    private final OrderResponseRedisSerializer serializer = new OrderResponseRedisSerializer();
+    private final Map<String, byte[]> redis = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, OrderResponse> template = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, OrderResponse> valueOperations = mock(ValueOperations.class);
+
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+    private OrderCache orderCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(template.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> {
+            redis.put(invocation.getArgument(0), serializer.serialize(invocation.getArgument(1)));
+            return null;
+        }).when(valueOperations).set(anyString(), any(OrderResponse.class), any(Duration.class));
+        when(valueOperations.get(anyString()))
+                .thenAnswer(invocation -> serializer.deserialize(redis.get((String) invocation.getArgument(0))));
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0))
+                .stream().map(key -> serializer.deserialize(redis.get(key))).toList());
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenAnswer(invocation -> {
+                    ((SessionCallback<?>) invocation.getArgument(0)).execute(template);
+                    return List.of();
+                });
+        when(template.delete(anyString()))
+                .thenAnswer(invocation -> redis.remove((String) invocation.getArgument(0)) != null);
+
+        orderCache = new OrderCache(template, meterRegistry, taskScheduler, Duration.ofMinutes(10), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void serializerRoundTripsEveryField() {
+        OrderResponse order = sampleOrder("order-1");
+
+        OrderResponse copy = serializer.deserialize(serializer.serialize(order));
+
+        assertThat(copy).isEqualTo(order);
+    }
+
+    @Test
+    void serializerRejectsUnknownFormatVersion() {
+        byte[] bytes = serializer.serialize(sampleOrder("order-1"));
+        bytes[0] = (byte) (OrderResponseRedisSerializer.FORMAT_VERSION + 1);
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void readThroughCountsHitsAndMisses() {
+        assertThat(orderCache.get("order-1")).isEmpty();
+
+        orderCache.put(sampleOrder("order-1"));
+
+        assertThat(orderCache.get("order-1")).contains(sampleOrder("order-1"));
+        assertThat(counter("hit")).isEqualTo(1.0);
+        assertThat(counter("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void getAllReturnsOnlyCachedOrders() {
+        orderCache.put(sampleOrder("order-1"));
+        orderCache.put(sampleOrder("order-3"));
+
+        Map<String, OrderResponse> cached = orderCache.getAll(List.of("order-1", "order-2", "order-3"));
+
+        assertThat(cached).containsOnlyKeys("order-1", "order-3");
+        assertThat(cached.get("order-3")).isEqualTo(sampleOrder("order-3"));
+        assertThat(counter("hit")).isEqualTo(2.0);
+        assertThat(counter("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void putAllCachesEveryOrderInOnePipeline() {
+        orderCache.putAll(List.of(sampleOrder("order-1"), sampleOrder("order-2")));
+
+        assertThat(orderCache.getAll(List.of("order-1", "order-2"))).containsOnlyKeys("order-1", "order-2");
+        verify(template, times(1)).executePipelined(any(SessionCallback.class));
+        verify(valueOperations, times(2)).set(anyString(), any(OrderResponse.class), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void evictRemovesEntry() {
+        orderCache.put(sampleOrder("order-1"));
+
+        orderCache.evict("order-1");
+
+        assertThat(orderCache.get("order-1")).isEmpty();
+    }
+
+    @Test
+    void staleOrderPutBackByAConcurrentMissIsDroppedByTheDelayedEviction() {
+        orderCache.put(sampleOrder("order-1"));
+        Instant evictedAt = Instant.now();
+
+        orderCache.evict("order-1");
+        // A reader that loaded the order before the status change committed caches the old status.
+        orderCache.put(sampleOrder("order-1"));
+        assertThat(orderCache.get("order-1")).isPresent();
+
+        ArgumentCaptor<Runnable> reEviction = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(reEviction.capture(), at.capture());
+        assertThat(at.getValue()).isBetween(evictedAt.plusSeconds(1), Instant.now().plusSeconds(1));
+        reEviction.getValue().run();
+
+        assertThat(orderCache.get("order-1")).isEmpty();
+    }
+
+    @Test
+    void redisFailureDegradesToMiss() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(orderCache.get("order-1")).isEmpty();
+        assertThat(meterRegistry.get("orders.cache.errors").counter().count()).isEqualTo(1.0);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("orders.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static OrderResponse sampleOrder(String id) {
+        return new OrderResponse(
+                id,
+                "user1",
+                OrderStatus.PENDING,
+                new BigDecimal("129.98"),
+                OrderFixtures.addressDto(),
+                List.of(OrderItemResponse.builder()
+                        .productId("p1")
+                        .productName("Xopix Wireless Earbuds")
+                        .quantity(2)
+                        .price(new BigDecimal("64.99"))
+                        .subtotal(new BigDecimal("129.98"))
+                        .build()),
+                LocalDateTime.of(2025, 6, 1, 10, 15, 30, 123_456_000),
+                null);
+    }
+}
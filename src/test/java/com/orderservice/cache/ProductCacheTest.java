@@ -0,0 +1,175 @@
+package com.orderservice.cache;
+
+import com.orderservice.client.ProductServiceClient;
+import com.orderservice.client.ProductServiceGateway;
+import com.orderservice.dto.ProductResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises both cache tiers against a map standing in for Redis and a product service that
+ * records every batch it is asked for.
+ */
+class ProductCacheTest {
+
+    private final Map<String, ProductResponse> redis = new ConcurrentHashMap<>();
+    private final Map<String, ProductResponse> catalog = new ConcurrentHashMap<>();
+    private final List<Collection<String>> serviceCalls = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, ProductResponse> template = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, ProductResponse> valueOperations = mock(ValueOperations.class);
+
+    private volatile Duration serviceLatency = Duration.ZERO;
+    private volatile boolean serviceDown;
+    private ProductCache productCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(template.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0))
+                .stream().map(redis::get).toList());
+        doAnswer(invocation -> {
+            redis.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(valueOperations).set(anyString(), any(ProductResponse.class), any(Duration.class));
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenAnswer(invocation -> {
+                    ((SessionCallback<?>) invocation.getArgument(0)).execute(template);
+                    return List.of();
+                });
+
+        ProductServiceClient productService = productIds -> {
+            serviceCalls.add(List.copyOf(productIds));
+            if (serviceDown) {
+                throw new IllegalStateException("product-service unavailable");
+            }
+            sleep(serviceLatency);
+            List<ProductResponse> found = new ArrayList<>();
+            productIds.forEach(id -> {
+                if (catalog.containsKey(id)) {
+                    found.add(catalog.get(id));
+                }
+            });
+            return found;
+        };
+        ProductServiceGateway gateway = new ProductServiceGateway(productService,
+                CircuitBreaker.ofDefaults("product-service"), Bulkhead.ofDefaults("product-service"));
+        productCache = new ProductCache(template, gateway, meterRegistry, 1000, Duration.ofMinutes(1),
+                Duration.ofMinutes(10));
+
+        for (long id = 1; id <= 3; id++) {
+            catalog.put(String.valueOf(id), product(id, "10.00"));
+        }
+    }
+
+    @Test
+    void missesAreLoadedInOneServiceCallAndWrittenToRedis() {
+        ProductCache.ProductLookup lookup = productCache.getAll(List.of("1", "2", "3", "404"));
+
+        assertThat(lookup.complete()).isTrue();
+        assertThat(lookup.products()).containsOnlyKeys("1", "2", "3");
+        assertThat(serviceCalls).containsExactly(List.of("1", "2", "3", "404"));
+        assertThat(redis).containsOnlyKeys("product::1", "product::2", "product::3");
+    }
+
+    @Test
+    void localHitsSkipRedisAndTheService() {
+        productCache.getAll(List.of("1", "2"));
+        redis.clear();
+
+        ProductCache.ProductLookup lookup = productCache.getAll(List.of("2", "1"));
+
+        assertThat(lookup.products()).containsOnlyKeys("1", "2");
+        assertThat(serviceCalls).hasSize(1);
+        assertThat(redis).isEmpty();
+    }
+
+    @Test
+    void redisHitsSkipTheService() {
+        redis.put("product::1", product(1, "12.00"));
+
+        ProductCache.ProductLookup lookup = productCache.getAll(List.of("1", "2"));
+
+        assertThat(lookup.products().get("1").getPrice()).isEqualByComparingTo("12.00");
+        assertThat(serviceCalls).containsExactly(List.of("2"));
+        assertThat(meterRegistry.get("products.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentLookupsOfAHotProductShareOneLoad() throws Exception {
+        serviceLatency = Duration.ofMillis(200);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ProductCache.ProductLookup>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return productCache.getAll(List.of("1"));
+                }));
+            }
+            start.countDown();
+        }
+
+        for (Future<ProductCache.ProductLookup> result : results) {
+            assertThat(result.get().products()).containsOnlyKeys("1");
+        }
+        assertThat(serviceCalls).hasSize(1);
+    }
+
+    @Test
+    void unavailableServiceFallsBackToRedisAndReportsAnIncompleteLookup() {
+        redis.put("product::1", product(1, "10.00"));
+        serviceDown = true;
+
+        ProductCache.ProductLookup lookup = productCache.getAll(List.of("1", "2"));
+
+        assertThat(lookup.complete()).isFalse();
+        assertThat(lookup.products()).containsOnlyKeys("1");
+
+        serviceDown = false;
+        assertThat(productCache.getAll(List.of("1", "2")).products()).containsOnlyKeys("1", "2");
+    }
+
+    private static ProductResponse product(long id, String price) {
+        return new ProductResponse(id, "Product " + id, null, new BigDecimal(price), null);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
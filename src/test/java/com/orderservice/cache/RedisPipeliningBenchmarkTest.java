@@ -0,0 +1,152 @@
+package com.orderservice.cache;
+
+import com.orderservice.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis round trips for the products of a {@value CART_ITEMS}-item cart, as {@link ProductCache}
+ * accesses them (read cold, written back, read again): one command per key versus
+ * {@link RedisBatchOperations}.
+ * <p>
+ * No Redis is involved: the template is a mock over a map that sleeps a fixed, synthetic
+ * {@value ROUND_TRIP_MICROS} µs per round trip, a pipeline counting as one. The round-trip counts
+ * are exact; the latencies only show what those counts cost at that assumed network delay, not
+ * what a real Redis does with the commands.
+ * Opt-in: {@code mvn test -Dbenchmarks=true -Dtest=RedisPipeliningBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class RedisPipeliningBenchmarkTest {
+
+    private static final int CART_ITEMS = 50;
+    private static final int ITERATIONS = 200;
+    private static final long ROUND_TRIP_MICROS = 250;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final Map<String, ProductResponse> redis = new ConcurrentHashMap<>();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final ThreadLocal<Boolean> inPipeline = ThreadLocal.withInitial(() -> false);
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, ProductResponse> template = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, ProductResponse> valueOperations = mock(ValueOperations.class);
+
+    private final List<String> productIds = new ArrayList<>(CART_ITEMS);
+    private final Map<String, ProductResponse> products = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(template.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> {
+            roundTrip();
+            return redis.get((String) invocation.getArgument(0));
+        });
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> {
+            roundTrip();
+            return ((Collection<String>) invocation.getArgument(0)).stream().map(redis::get).toList();
+        });
+        doAnswer(invocation -> {
+            roundTrip();
+            redis.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(valueOperations).set(anyString(), any(ProductResponse.class), any(Duration.class));
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            inPipeline.set(true);
+            try {
+                ((SessionCallback<?>) invocation.getArgument(0)).execute(template);
+            } finally {
+                inPipeline.set(false);
+            }
+            roundTrip();
+            return List.of();
+        });
+
+        for (long id = 1; id <= CART_ITEMS; id++) {
+            productIds.add(String.valueOf(id));
+            products.put(String.valueOf(id), new ProductResponse(id, "Product " + id, null, BigDecimal.TEN, null));
+        }
+    }
+
+    @Test
+    void pipelinedAccessCostsThreeRoundTripsPerCart() {
+        RedisBatchOperations<ProductResponse> batch = new RedisBatchOperations<>(template, "product::");
+
+        Result sequential = measure(() -> {
+            for (String id : productIds) {
+                template.opsForValue().get(batch.key(id));
+            }
+            products.forEach((id, product) -> template.opsForValue().set(batch.key(id), product, TTL));
+            for (String id : productIds) {
+                template.opsForValue().get(batch.key(id));
+            }
+        });
+        Result pipelined = measure(() -> {
+            batch.getAll(productIds);
+            batch.setAll(products, TTL);
+            batch.getAll(productIds);
+        });
+
+        log.info("{}-item cart: sequential {} round trips / {} ms, pipelined {} round trips / {} ms"
+                        + " (synthetic {} µs per round trip)",
+                CART_ITEMS, sequential.roundTrips(), sequential.millis(), pipelined.roundTrips(), pipelined.millis(),
+                ROUND_TRIP_MICROS);
+        assertThat(sequential.roundTrips()).isEqualTo(3 * CART_ITEMS);
+        assertThat(pipelined.roundTrips()).isEqualTo(3);
+        assertThat(pipelined.millis()).isLessThan(sequential.millis() / 10);
+    }
+
+    private Result measure(Runnable cart) {
+        long elapsed = 0;
+        int trips = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            redis.clear();
+            roundTrips.set(0);
+            long start = System.nanoTime();
+            cart.run();
+            elapsed += System.nanoTime() - start;
+            trips = roundTrips.get();
+        }
+        return new Result(trips, elapsed / ITERATIONS / 1_000_000.0);
+    }
+
+    private void roundTrip() {
+        if (!inPipeline.get()) {
+            roundTrips.incrementAndGet();
+            LockSupport.parkNanos(ROUND_TRIP_MICROS * 1_000);
+        }
+    }
+
+    /**
+     * @param roundTrips round trips per cart
+     * @param millis     mean latency per cart, at the synthetic round-trip delay
+     */
+    private record Result(int roundTrips, double millis) {
+    }
+}
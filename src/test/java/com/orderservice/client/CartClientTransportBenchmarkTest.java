@@ -0,0 +1,136 @@
+package com.orderservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.orderservice.dto.cart.CartDTO;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.http2client.Http2Client;
+import feign.hc5.ApacheHttp5Client;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares getCartById latency percentiles across Feign transports against a local stub
+ * cart service. Run with {@code mvn test -Dbenchmarks=true -Dtest=CartClientTransportBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CartClientTransportBenchmarkTest {
+
+    private static final int CONCURRENCY = 64;
+    private static final int CALLS_PER_WORKER = 500;
+    private static final int WARMUP_CALLS = 2_000;
+
+    private static HttpServer stubCartService;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        byte[] cartJson = cartJson(20).getBytes(StandardCharsets.UTF_8);
+        stubCartService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stubCartService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubCartService.createContext("/api/carts/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, cartJson.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(cartJson);
+            }
+        });
+        stubCartService.start();
+        baseUrl = "http://127.0.0.1:" + stubCartService.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubCartService.stop(0);
+    }
+
+    @Test
+    void compareTransports() throws Exception {
+        report("jdk-httpurlconnection", new Client.Default(null, null));
+        report("apache-hc5-pooled", new ApacheHttp5Client(HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(200)
+                        .setMaxConnPerRoute(100)
+                        .build())
+                .build()));
+        // The JDK stub server speaks HTTP/1.1 only; against an h2c/h2 cart service use Version.HTTP_2.
+        report("jdk-httpclient", new Http2Client(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()));
+    }
+
+    private void report(String name, Client transport) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        CartServiceClient client = Feign.builder()
+                .client(transport)
+                .contract(new SpringMvcContract())
+                .decoder(new StreamingJacksonDecoder(objectMapper))
+                .target(CartServiceClient.class, baseUrl);
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            client.getCartById("cart-" + i);
+        }
+
+        long[] latencies = new long[CONCURRENCY * CALLS_PER_WORKER];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+            for (int w = 0; w < CONCURRENCY; w++) {
+                int offset = w * CALLS_PER_WORKER;
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < CALLS_PER_WORKER; i++) {
+                        long start = System.nanoTime();
+                        CartDTO cart = client.getCartById("cart-" + i);
+                        latencies[offset + i] = System.nanoTime() - start;
+                        assertThat(cart.getCartItems()).hasSize(20);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        Arrays.sort(latencies);
+        log.info("{}: p50={}us p99={}us p999={}us", name,
+                percentileMicros(latencies, 0.50), percentileMicros(latencies, 0.99), percentileMicros(latencies, 0.999));
+    }
+
+    private static long percentileMicros(long[] sortedNanos, double percentile) {
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[index] / 1_000;
+    }
+
+    private static String cartJson(int items) {
+        StringBuilder json = new StringBuilder("{\"id\":\"cart-1\",\"userId\":1,\"lastModifiedDate\":\"2025-06-01T10:15:30\",\"cartItems\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"productId\":\"product-").append(i)
+                    .append("\",\"productName\":\"Product ").append(i)
+                    .append("\",\"price\":19.99,\"quantity\":").append(i % 3 + 1).append('}');
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.orderservice.client;
+
+import com.orderservice.config.ResilienceConfig;
+import com.orderservice.dto.cart.CartDTO;
+import com.orderservice.exception.CartServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the gateway with policies built by {@link ResilienceConfig} against a stub cart service
+ * that injects latency, 5xx errors and 404s.
+ */
+class CartServiceGatewayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceConfig resilienceConfig = new ResilienceConfig();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void serverErrorsAreRetriedThenOpenTheCircuitAndFailFast() {
+        CartServiceGateway gateway = gateway(cartId -> {
+            calls.incrementAndGet();
+            throw new FeignException.ServiceUnavailable("unavailable", request(), null, Map.of());
+        }, 10);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> gateway.getCartById("cart-1"))
+                    .isInstanceOf(CartServiceUnavailableException.class);
+        }
+        int callsWhenOpen = calls.get();
+
+        assertThatThrownBy(() -> gateway.getCartById("cart-1"))
+                .isInstanceOf(CartServiceUnavailableException.class)
+                .hasCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(calls.get()).isEqualTo(callsWhenOpen);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", ResilienceConfig.CART_SERVICE).tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void slowCallsOpenTheCircuit() {
+        CartServiceGateway gateway = gateway(cartId -> {
+            sleep(Duration.ofMillis(60));
+            return new CartDTO();
+        }, 10);
+
+        for (int i = 0; i < 4; i++) {
+            gateway.getCartById("cart-1");
+        }
+
+        assertThatThrownBy(() -> gateway.getCartById("cart-1"))
+                .hasCauseInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void notFoundPassesThroughWithoutRetryOrTrippingTheCircuit() {
+        CartServiceGateway gateway = gateway(cartId -> {
+            calls.incrementAndGet();
+            throw new FeignException.NotFound("no cart", request(), null, Map.of());
+        }, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> gateway.getCartById("missing")).isInstanceOf(FeignException.NotFound.class);
+        }
+        assertThat(calls.get()).isEqualTo(10);
+    }
+
+    @Test
+    void bulkheadRejectsExcessConcurrentCallsImmediately() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CartServiceGateway gateway = gateway(cartId -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new CartDTO();
+        }, 1);
+
+        Thread holder = Thread.ofVirtual().start(() -> gateway.getCartById("cart-1"));
+        assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> gateway.getCartById("cart-2"))
+                .isInstanceOf(CartServiceUnavailableException.class)
+                .hasCauseInstanceOf(BulkheadFullException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+
+        release.countDown();
+        holder.join();
+    }
+
+    private CartServiceGateway gateway(CartServiceClient stub, int maxConcurrentCalls) {
+        CircuitBreaker circuitBreaker = resilienceConfig.cartServiceCircuitBreaker(meterRegistry,
+                50, Duration.ofMillis(50), 50, 4, 4, Duration.ofSeconds(30), 1);
+        Bulkhead bulkhead = resilienceConfig.cartServiceBulkhead(meterRegistry, maxConcurrentCalls, Duration.ZERO);
+        Retry retry = resilienceConfig.cartServiceRetry(meterRegistry, 2, Duration.ofMillis(1));
+        return new CartServiceGateway(stub, circuitBreaker, bulkhead, retry);
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://cart-service/api/carts/cart-1",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.orderservice.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+/**
+ * Test helpers for building a {@link CartServiceGateway} around a stubbed client.
+ */
+public final class CartServiceGateways {
+
+    private CartServiceGateways() {
+    }
+
+    /**
+     * A gateway whose policies never interfere, for tests that exercise checkout logic under load.
+     */
+    public static CartServiceGateway unbounded(CartServiceClient client) {
+        return new CartServiceGateway(client,
+                CircuitBreaker.ofDefaults("cart-service"),
+                Bulkhead.of("cart-service", BulkheadConfig.custom().maxConcurrentCalls(Integer.MAX_VALUE).build()),
+                Retry.of("cart-service", RetryConfig.custom().maxAttempts(1).build()));
+    }
+
+    /**
+     * A gateway limited only by the given bulkhead, for tests that check callers stay within it.
+     */
+    public static CartServiceGateway bounded(CartServiceClient client, Bulkhead bulkhead) {
+        return new CartServiceGateway(client,
+                CircuitBreaker.ofDefaults("cart-service"),
+                bulkhead,
+                Retry.of("cart-service", RetryConfig.custom().maxAttempts(1).build()));
+    }
+}
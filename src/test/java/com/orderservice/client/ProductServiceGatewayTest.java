@@ -0,0 +1,83 @@
+package com.orderservice.client;
+
+import com.orderservice.config.ResilienceConfig;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the gateway with policies built by {@link ResilienceConfig} against a stub product
+ * service that fails or hangs.
+ */
+class ProductServiceGatewayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceConfig resilienceConfig = new ResilienceConfig();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void missingBatchEndpointOpensTheCircuitWithoutRetrying() {
+        ProductServiceGateway gateway = gateway(productIds -> {
+            calls.incrementAndGet();
+            throw new FeignException.NotFound("no such endpoint", request(), null, Map.of());
+        }, 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> gateway.getProductsByIds(List.of("1"))).isInstanceOf(FeignException.NotFound.class);
+        }
+
+        assertThatThrownBy(() -> gateway.getProductsByIds(List.of("1"))).isInstanceOf(CallNotPermittedException.class);
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void bulkheadRejectsExcessConcurrentCallsImmediately() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProductServiceGateway gateway = gateway(productIds -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        }, 1);
+
+        Thread holder = Thread.ofVirtual().start(() -> gateway.getProductsByIds(List.of("1")));
+        assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> gateway.getProductsByIds(List.of("2"))).isInstanceOf(BulkheadFullException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+
+        release.countDown();
+        holder.join();
+    }
+
+    private ProductServiceGateway gateway(ProductServiceClient stub, int maxConcurrentCalls) {
+        return new ProductServiceGateway(stub,
+                resilienceConfig.productServiceCircuitBreaker(meterRegistry, 50, Duration.ofMillis(250), 50, 4, 4,
+                        Duration.ofSeconds(30)),
+                resilienceConfig.productServiceBulkhead(meterRegistry, maxConcurrentCalls));
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://product-service/api/products/batch",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.orderservice.controller;
+
+import com.orderservice.admission.CheckoutAdmissionControl;
+import com.orderservice.async.AsyncCheckoutProcessor;
+import com.orderservice.config.WebAsyncConfig;
+import com.orderservice.export.OrderExporter;
+import com.orderservice.idempotency.IdempotentCheckout;
+import com.orderservice.security.OrderAccessEvaluator;
+import com.orderservice.service.OrderServiceImpl;
+import com.orderservice.service.OrderStatusService;
+import com.orderservice.service.UserOrderSummaryRebuilder;
+import com.orderservice.service.UserOrderSummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs an export on a real Tomcat whose default async timeout (normally 30 s) is cut to 500 ms,
+ * with an export that streams for about two seconds: it must arrive complete.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = {OrderController.class, WebAsyncConfig.class, OrderExportTimeoutTest.ShortContainerAsyncTimeout.class},
+        properties = "xopix.export.timeout=PT30S")
+@ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        TaskExecutionAutoConfiguration.class})
+class OrderExportTimeoutTest {
+
+    private static final int CONTAINER_ASYNC_TIMEOUT_MILLIS = 500;
+    private static final int ROWS = 20;
+    private static final long ROW_INTERVAL_MILLIS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private OrderServiceImpl orderServiceImpl;
+
+    @MockitoBean
+    private OrderAccessEvaluator orderAccess;
+
+    @MockitoBean
+    private IdempotentCheckout idempotentCheckout;
+
+    @MockitoBean
+    private OrderStatusService orderStatusService;
+
+    @MockitoBean
+    private OrderExporter orderExporter;
+
+    @MockitoBean
+    private UserOrderSummaryService userOrderSummaryService;
+
+    @MockitoBean
+    private UserOrderSummaryRebuilder userOrderSummaryRebuilder;
+
+    @MockitoBean
+    private CheckoutAdmissionControl checkoutAdmission;
+
+    @MockitoBean
+    private AsyncCheckoutProcessor asyncCheckout;
+
+    @Test
+    void exportStreamingLongerThanTheContainerAsyncTimeoutIsNotCutOff() throws Exception {
+        when(orderExporter.export(any(), any(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            for (int i = 0; i < ROWS; i++) {
+                out.write(("{\"row\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(ROW_INTERVAL_MILLIS);
+            }
+            return (long) ROWS;
+        });
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/export")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMillis).isGreaterThan(CONTAINER_ASYNC_TIMEOUT_MILLIS);
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().lines()).hasSize(ROWS).last().isEqualTo("{\"row\":" + (ROWS - 1) + "}");
+    }
+
+    @TestConfiguration
+    static class ShortContainerAsyncTimeout {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+}
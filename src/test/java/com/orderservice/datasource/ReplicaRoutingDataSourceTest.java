@@ -0,0 +1,145 @@
+package com.orderservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two embedded databases standing in for the primary and a replica; each holds a
+ * marker row naming its role, so a query shows where a transaction was sent.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final Map<String, Duration> lags = new ConcurrentHashMap<>();
+    private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+    private volatile String currentUser;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica", replica), dataSource -> {
+            Duration lag = lags.get("replica");
+            if (lag == null) {
+                throw new SQLException("Replication is not running");
+            }
+            return lag;
+        }, Duration.ofSeconds(2));
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Map.of("replica", replica),
+                lagMonitor, readYourWrites, () -> currentUser, meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToACurrentReplicaAndWritesToThePrimary() {
+        lags.put("replica", Duration.ofMillis(100));
+        lagMonitor.checkLag();
+
+        assertThat(readOnlyTx.execute(status -> role())).isEqualTo("replica");
+        assertThat(writeTx.execute(status -> role())).isEqualTo("primary");
+        assertThat(role()).isEqualTo("primary"); // no transaction at all
+        assertThat(routed("replica")).isEqualTo(1.0);
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaLagsOrBeforeItWasChecked() {
+        assertThat(readOnlyTx.execute(status -> role())).isEqualTo("primary");
+
+        lags.put("replica", Duration.ofSeconds(30));
+        lagMonitor.checkLag();
+        assertThat(readOnlyTx.execute(status -> role())).isEqualTo("primary");
+
+        lags.put("replica", Duration.ZERO);
+        lagMonitor.checkLag();
+        assertThat(readOnlyTx.execute(status -> role())).isEqualTo("replica");
+        assertThat(routed("primary_replica_lag")).isEqualTo(2.0);
+    }
+
+    @Test
+    void failingLagCheckTakesTheReplicaOutOfRotation() {
+        lags.put("replica", Duration.ZERO);
+        lagMonitor.checkLag();
+        lags.remove("replica"); // the probe now throws
+        lagMonitor.checkLag();
+
+        assertThat(readOnlyTx.execute(status -> role())).isEqualTo("primary");
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromThePrimary() {
+        lags.put("replica", Duration.ZERO);
+        lagMonitor.checkLag();
+
+        currentUser = "user1";
+        writeTx.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into orders (id, user_id) values (?, ?)", UUID.randomUUID().toString(), currentUser);
+            readYourWrites.recordWrite(currentUser);
+        });
+
+        assertThat(readOnlyTx.execute(status -> userOrders("user1"))).isEqualTo(1);
+        currentUser = "user2";
+        assertThat(readOnlyTx.execute(status -> role())).isEqualTo("replica");
+        assertThat(routed("primary_read_your_writes")).isEqualTo(1.0);
+    }
+
+    private String role() {
+        return jdbcTemplate.queryForObject("select role from db_role", String.class);
+    }
+
+    private Integer userOrders(String userId) {
+        return jdbcTemplate.queryForObject("select count(*) from orders where user_id = ?", Integer.class, userId);
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("orders.datasource.routing").tag("route", route).counter().count();
+    }
+
+    private static EmbeddedDatabase database(String role) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("create table db_role (role varchar(16))");
+        jdbc.update("insert into db_role values (?)", role);
+        jdbc.execute("create table orders (id varchar(36) primary key, user_id varchar(255))");
+        return database;
+    }
+}
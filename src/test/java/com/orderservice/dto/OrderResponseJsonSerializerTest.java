@@ -0,0 +1,64 @@
+package com.orderservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orderservice.model.Address;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written mapping and serializer must produce exactly what the default (reflective)
+ * serialization of the same response produces.
+ */
+class OrderResponseJsonSerializerTest {
+
+    // Spring Boot's default: ISO date-time strings rather than timestamp arrays.
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper streaming = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializers(new OrderResponseJsonSerializer())
+            .build();
+
+    @Test
+    void writesTheSameJsonAsDefaultSerialization() throws Exception {
+        Orders order = Orders.builder()
+                .id("order-1")
+                .userId("user1")
+                .status(OrderStatus.SHIPPED)
+                .totalAmount(new BigDecimal("59.97"))
+                .shippingAddress(new Address("1 \"Main\" St", "Xopix City", "XY", "12345", "USA"))
+                .createdAt(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 120_000_000))
+                .updatedAt(LocalDateTime.of(2025, 6, 1, 12, 31))
+                .build();
+        order.addOrderItem(OrderItem.builder().productId("p-1").productName("Mug").quantity(3)
+                .price(new BigDecimal("19.99")).subtotal(new BigDecimal("59.97")).build());
+        OrderResponse response = OrderResponse.fromEntity(order);
+
+        assertThat(streaming.writeValueAsString(response)).isEqualTo(reflective.writeValueAsString(response));
+        assertThat(response.getOrderItems()).hasSize(1);
+        assertThat(response.getShippingAddress().getStreet()).isEqualTo("1 \"Main\" St");
+    }
+
+    @Test
+    void writesNullsLikeDefaultSerialization() throws Exception {
+        OrderResponse response = new OrderResponse("order-2", "user1", OrderStatus.PENDING, BigDecimal.TEN,
+                new AddressDTO("1 Main St", "Xopix City", null, "12345", "USA"), List.of(),
+                LocalDateTime.of(2025, 6, 1, 12, 30), null);
+
+        assertThat(streaming.writeValueAsString(response)).isEqualTo(reflective.writeValueAsString(response));
+        assertThat(streaming.writeValueAsString(new OrderResponse(null, null, null, null, null, null, null, null)))
+                .isEqualTo(reflective.writeValueAsString(new OrderResponse(null, null, null, null, null, null, null, null)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.orderservice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports a million orders on a 64 MB heap, so an export that buffers its rows or its output
+ * fails with an OutOfMemoryError. The {@code heap-bounded-benchmarks} profile runs it in its own
+ * JVM with {@code -Xmx64m}: {@code mvn test -Dbenchmarks=true -Dtest=OrderExportMemoryBenchmarkTest}.
+ */
+@Slf4j
+@DataJpaTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        // A small page cache keeps H2 itself well inside the heap; the rows stay on disk.
+        "spring.datasource.url=jdbc:h2:file:./target/h2/order-export-memory;LAZY_QUERY_EXECUTION=TRUE;CACHE_SIZE=4096",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the exporter opens its own read-only transaction
+class OrderExportMemoryBenchmarkTest {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int INSERT_CHUNK = 50_000;
+    private static final long MAX_HEAP = 64L << 20;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void millionRowExportFitsInASmallHeap() {
+        // Under -Dtest the default execution picks this class up too; only the -Xmx64m JVM runs it.
+        assumeTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP, "needs a heap of at most 64 MB");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM orders");
+        for (int first = 1; first <= ORDERS; first += INSERT_CHUNK) {
+            insertOrders(jdbcTemplate, first, first + INSERT_CHUNK - 1);
+        }
+        OrderExporter exporter = new OrderExporter(orderRepository, new ObjectMapper(), transactionManager);
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long start = System.nanoTime();
+        long exported = exporter.export(new OrderExportFilter(null, null, null, null), OrderExportFormat.NDJSON, out);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Exported {} orders ({} MB) in {} ms with a {} MB heap",
+                exported, out.bytes >> 20, elapsedMillis, Runtime.getRuntime().maxMemory() >> 20);
+        assertThat(exported).isEqualTo(ORDERS);
+        assertThat(out.lines).isEqualTo(ORDERS);
+    }
+
+    private static void insertOrders(JdbcTemplate jdbcTemplate, int first, int last) {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, user_id, status, total_amount, street, city, state, zip_code, country,
+                                    created_at, updated_at, version)
+                SELECT CONCAT('order-', LPAD(CAST(X AS VARCHAR), 10, '0')),
+                       CONCAT('user', MOD(X, 100)),
+                       CASE WHEN MOD(X, 2) = 0 THEN 'PENDING' ELSE 'DELIVERED' END,
+                       19.99, '1 Main St, Apt 2', 'Xopix City', 'XY', '12345', 'USA',
+                       DATEADD(SECOND, X, TIMESTAMP '2025-01-01 00:00:00'), NULL, 0
+                FROM SYSTEM_RANGE(?, ?)""", first, last);
+    }
+
+    /**
+     * Discards the export but counts its bytes and lines.
+     */
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
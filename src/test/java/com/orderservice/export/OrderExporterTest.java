@@ -0,0 +1,165 @@
+package com.orderservice.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports against a file-backed H2 database, so the rows live on disk (behind H2's bounded page
+ * cache) rather than on the test's heap, and lazy query execution gives a real forward-only cursor.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/order-export;LAZY_QUERY_EXECUTION=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the exporter opens its own read-only transaction
+class OrderExporterTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        exporter = new OrderExporter(orderRepository, objectMapper, transactionManager);
+    }
+
+    @Test
+    void csvExportAppliesUserRangeAndStatusFiltersAndQuotesFields() {
+        insertOrders(1_000);
+        // user7 owns orders 7, 107, 207, ...; the range keeps orders 300..599.
+        OrderExportFilter filter = new OrderExportFilter("user7", EPOCH.plusSeconds(300), EPOCH.plusSeconds(600),
+                Set.of(OrderStatus.DELIVERED));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exporter.export(filter, OrderExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(exported).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo(CsvOrderExportWriter.HEADER);
+        assertThat(lines[1]).isEqualTo("order-0000000307,user7,DELIVERED,19.99,\"1 Main St, Apt 2\",Xopix City,XY,12345,USA,2025-01-01T00:05:07,,,,,,");
+        assertThat(lines[3]).startsWith("order-0000000507,");
+    }
+
+    @Test
+    void ndjsonExportWritesOneParsableObjectPerLine() throws Exception {
+        insertOrders(100);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exporter.export(new OrderExportFilter(null, null, null, Set.of(OrderStatus.PENDING)),
+                OrderExportFormat.NDJSON, out);
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(exported).isEqualTo(50);
+        assertThat(rows).hasSize(50).allSatisfy(row -> assertThat(row.get("status").asText()).isEqualTo("PENDING"));
+        // Grouped by user, in user id order: user0 owns just order 100 and user10 just order 10.
+        assertThat(rows.getFirst().get("id").asText()).isEqualTo("order-0000000100");
+        assertThat(rows.getFirst().get("totalAmount").decimalValue()).isEqualByComparingTo("19.99");
+        assertThat(rows.getFirst().get("shippingAddress").get("street").asText()).isEqualTo("1 Main St, Apt 2");
+        assertThat(rows.getFirst().get("createdAt").asText()).isEqualTo("2025-01-01T00:01:40");
+        assertThat(rows.getFirst().get("items")).isEmpty();
+        assertThat(rows.get(1).get("id").asText()).isEqualTo("order-0000000010");
+    }
+
+    @Test
+    void exportsEachOrderOnceWithAllOfItsItems() throws Exception {
+        insertOrders(300);
+        insertItem("order-0000000207", "item-1", "product-a", "Mug, large", 2, "4.50");
+        insertItem("order-0000000207", "item-2", "product-b", "Tea", 1, "10.99");
+        insertItem("order-0000000107", "item-3", "product-c", "Spoon", 3, "1.00");
+        OrderExportFilter filter = new OrderExportFilter("user7", null, null, null);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long exported = exporter.export(filter, OrderExportFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exporter.export(filter, OrderExportFormat.CSV, csv);
+
+        List<JsonNode> orders = new ArrayList<>();
+        for (String line : ndjson.toString(StandardCharsets.UTF_8).split("\n")) {
+            orders.add(objectMapper.readTree(line));
+        }
+        assertThat(exported).isEqualTo(3);
+        assertThat(orders).extracting(order -> order.get("id").asText())
+                .containsExactly("order-0000000007", "order-0000000107", "order-0000000207");
+        assertThat(orders.get(0).get("items")).isEmpty();
+        assertThat(orders.get(1).get("items")).hasSize(1);
+        assertThat(orders.get(1).get("items").get(0).get("quantity").asInt()).isEqualTo(3);
+        assertThat(orders.get(2).get("items")).extracting(item -> item.get("productName").asText())
+                .containsExactlyInAnyOrder("Mug, large", "Tea");
+
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[1]).startsWith("order-0000000007,").endsWith(",,,,,");
+        assertThat(lines[2]).startsWith("order-0000000107,").endsWith(",product-c,Spoon,3,1.00,3.00");
+        assertThat(Arrays.copyOfRange(lines, 3, 5)).allSatisfy(line -> assertThat(line).startsWith("order-0000000207,"))
+                .anySatisfy(line -> assertThat(line).endsWith(",product-a,\"Mug, large\",2,4.50,9.00"));
+    }
+
+    private void insertItem(String orderId, String id, String productId, String productName, int quantity, String price) {
+        BigDecimal unitPrice = new BigDecimal(price);
+        jdbcTemplate.update("""
+                INSERT INTO order_items (id, order_id, product_id, product_name, quantity, price, subtotal)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""",
+                id, orderId, productId, productName, quantity, unitPrice, unitPrice.multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    private void insertOrders(int count) {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, user_id, status, total_amount, street, city, state, zip_code, country,
+                                    created_at, updated_at, version)
+                SELECT CONCAT('order-', LPAD(CAST(X AS VARCHAR), 10, '0')),
+                       CONCAT('user', MOD(X, 100)),
+                       CASE WHEN MOD(X, 2) = 0 THEN 'PENDING' ELSE 'DELIVERED' END,
+                       19.99, '1 Main St, Apt 2', 'Xopix City', 'XY', '12345', 'USA',
+                       DATEADD(SECOND, X, TIMESTAMP '2025-01-01 00:00:00'), NULL, 0
+                FROM SYSTEM_RANGE(1, ?)""", count);
+    }
+}
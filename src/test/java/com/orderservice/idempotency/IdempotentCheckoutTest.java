@@ -0,0 +1,307 @@
+package com.orderservice.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderservice.OrderFixtures;
+import com.orderservice.admission.CheckoutAdmissionControl;
+import com.orderservice.dto.OrderRequest;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.exception.IdempotencyKeyMismatchException;
+import com.orderservice.model.Orders;
+import com.orderservice.service.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotentCheckoutTest {
+
+    private static final int DUPLICATES = 200;
+    private static final OrderRequest REQUEST = OrderFixtures.request("cart-1");
+
+    private final OrderServiceImpl orderService = mock(OrderServiceImpl.class);
+    private final AtomicInteger checkouts = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+    @BeforeEach
+    void setUp() {
+        when(orderService.loadOrderResponse(anyString())).thenAnswer(invocation ->
+                OrderResponse.fromEntity(OrderFixtures.order("user1").id(invocation.getArgument(0)).build()));
+        taskScheduler.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void concurrentDuplicatesCreateExactlyOneOrder() throws Exception {
+        List<IdempotentCheckout.Result> results = submitConcurrently(checkout(new InMemoryIdempotencyStore()), "key-1");
+
+        assertThat(checkouts).hasValue(1);
+        assertThat(results).extracting(result -> result.order().getId()).containsOnly(results.get(0).order().getId());
+        assertThat(results).filteredOn(result -> !result.replayed()).hasSize(1);
+    }
+
+    @Test
+    void sequentialRetryReplaysWithoutCheckout() {
+        IdempotentCheckout idempotentCheckout = checkout(new InMemoryIdempotencyStore());
+
+        IdempotentCheckout.Result first = idempotentCheckout.execute("user1", "key-1", REQUEST, this::slowCheckout);
+        // The retry carries the same request, deserialized into a new object.
+        IdempotentCheckout.Result retry = idempotentCheckout.execute("user1", "key-1", OrderFixtures.request("cart-1"),
+                this::slowCheckout);
+
+        assertThat(checkouts).hasValue(1);
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.order().getId()).isEqualTo(first.order().getId());
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        IdempotentCheckout idempotentCheckout = checkout(new InMemoryIdempotencyStore());
+        idempotentCheckout.execute("user1", "key-1", REQUEST, this::slowCheckout);
+
+        assertThatThrownBy(() -> idempotentCheckout.execute("user1", "key-1", OrderFixtures.request("cart-2"),
+                this::slowCheckout))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(checkouts).hasValue(1);
+    }
+
+    @Test
+    void lockIsRenewedWhileASlowCheckoutRuns() throws Exception {
+        // The checkout takes four lock leases; without renewal the duplicate would take the lock and run it again.
+        IdempotentCheckout idempotentCheckout = new IdempotentCheckout(new InMemoryIdempotencyStore(), orderService,
+                new ObjectMapper(), taskScheduler, Duration.ofMillis(150), Duration.ofSeconds(5), Duration.ofHours(1));
+        CountDownLatch firstLocked = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotentCheckout.Result> first = executor.submit(() ->
+                    idempotentCheckout.execute("user1", "key-1", REQUEST, () -> {
+                        firstLocked.countDown();
+                        return checkoutTaking(600);
+                    }));
+            firstLocked.await();
+            Thread.sleep(300);
+            IdempotentCheckout.Result duplicate = idempotentCheckout.execute("user1", "key-1", REQUEST,
+                    this::slowCheckout);
+
+            assertThat(duplicate.replayed()).isTrue();
+            assertThat(duplicate.order().getId()).isEqualTo(first.get().order().getId());
+        }
+        assertThat(checkouts).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        IdempotentCheckout idempotentCheckout = checkout(new InMemoryIdempotencyStore());
+
+        idempotentCheckout.execute("user1", "key-1", REQUEST, this::slowCheckout);
+        IdempotentCheckout.Result otherUser = idempotentCheckout.execute("user2", "key-1", REQUEST, this::slowCheckout);
+
+        assertThat(checkouts).hasValue(2);
+        assertThat(otherUser.replayed()).isFalse();
+    }
+
+    @Test
+    void failedCheckoutReleasesTheKeyForARetry() {
+        IdempotentCheckout idempotentCheckout = checkout(new InMemoryIdempotencyStore());
+
+        try {
+            idempotentCheckout.execute("user1", "key-1", REQUEST, () -> {
+                throw new IllegalStateException("cart service down");
+            });
+        } catch (IllegalStateException expected) {
+            // first attempt fails
+        }
+        IdempotentCheckout.Result retry = idempotentCheckout.execute("user1", "key-1", REQUEST, this::slowCheckout);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(checkouts).hasValue(1);
+    }
+
+    @Test
+    void retryOfACompletedCheckoutIsReplayedWithoutAdmission() {
+        CheckoutAdmissionControl admission = admission(0.001, 1, 10);
+        IdempotentCheckout idempotentCheckout = checkout(new InMemoryIdempotencyStore());
+
+        IdempotentCheckout.Result first = idempotentCheckout.execute("user1", "key-1", REQUEST, admitted(admission));
+        IdempotentCheckout.Result retry = idempotentCheckout.execute("user1", "key-1", REQUEST, admitted(admission));
+
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.order().getId()).isEqualTo(first.order().getId());
+        assertThat(admissions("admitted")).isEqualTo(1.0);
+        assertThat(admissions("rate_limited")).isZero(); // the user's only token went to the first attempt
+    }
+
+    @Test
+    void duplicatesWaitingForTheKeyHoldNoConcurrencySlot() throws Exception {
+        CheckoutAdmissionControl admission = admission(1_000, 1_000, 1);
+
+        List<IdempotentCheckout.Result> results = submitConcurrently(checkout(new InMemoryIdempotencyStore()), "key-1",
+                admitted(admission));
+
+        assertThat(results).extracting(result -> result.order().getId()).containsOnly(results.get(0).order().getId());
+        assertThat(admissions("admitted")).isEqualTo(1.0);
+        assertThat(admissions("overloaded")).isZero();
+    }
+
+    @Test
+    void holderWhoseLeaseExpiredCannotReleaseTheNextHoldersLock() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        String expired = store.tryLock("user1:key-1", Duration.ofMillis(1)).orElseThrow();
+        Thread.sleep(5);
+        String current = store.tryLock("user1:key-1", Duration.ofSeconds(10)).orElseThrow();
+
+        store.unlock("user1:key-1", expired); // the slow first request finally finishes
+
+        assertThat(store.tryLock("user1:key-1", Duration.ofSeconds(10))).isEmpty();
+        store.unlock("user1:key-1", current);
+        assertThat(store.tryLock("user1:key-1", Duration.ofSeconds(10))).isPresent();
+    }
+
+    @Test
+    void redisLockIsReleasedOnlyByItsOwner() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock();
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq("idempotency-lock::user1:key-1"), anyString(), any(Duration.class))).thenReturn(true);
+        RedisIdempotencyStore store = new RedisIdempotencyStore(redis, new InMemoryIdempotencyStore());
+
+        String token = store.tryLock("user1:key-1", Duration.ofSeconds(10)).orElseThrow();
+        store.unlock("user1:key-1", token);
+
+        verify(values).setIfAbsent("idempotency-lock::user1:key-1", token, Duration.ofSeconds(10));
+        verify(redis).execute(any(RedisScript.class), eq(List.of("idempotency-lock::user1:key-1")), eq(token));
+        verify(redis, never()).delete(anyString());
+    }
+
+    @Test
+    void lockIsRenewedOnlyByItsOwner() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        String token = store.tryLock("user1:key-1", Duration.ofSeconds(10)).orElseThrow();
+
+        assertThat(store.renew("user1:key-1", token, Duration.ofSeconds(10))).isTrue();
+        assertThat(store.renew("user1:key-1", "someone-else", Duration.ofSeconds(10))).isFalse();
+        store.unlock("user1:key-1", token);
+        assertThat(store.renew("user1:key-1", token, Duration.ofSeconds(10))).isFalse();
+    }
+
+    @Test
+    void redisRecordKeepsTheRequestFingerprint() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock();
+        Map<String, String> stored = new HashMap<>();
+        when(redis.opsForValue()).thenReturn(values);
+        doAnswer(invocation -> stored.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.get(anyString())).thenAnswer(invocation -> stored.get((String) invocation.getArgument(0)));
+        RedisIdempotencyStore store = new RedisIdempotencyStore(redis, new InMemoryIdempotencyStore());
+
+        store.complete("user1:key-1", new IdempotencyRecord("order-1", "abc123"), Duration.ofHours(1));
+        stored.put("idempotency::user1:key-2", "order-2"); // written before fingerprints were kept
+
+        assertThat(store.find("user1:key-1")).contains(new IdempotencyRecord("order-1", "abc123"));
+        assertThat(store.find("user1:key-2")).contains(new IdempotencyRecord("order-2", null));
+    }
+
+    @Test
+    void redisOutageFallsBackToTheLocalStore() throws Exception {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        when(redis.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(redis.execute(any(RedisScript.class), anyList(), any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        submitConcurrently(checkout(new RedisIdempotencyStore(redis, new InMemoryIdempotencyStore())), "key-1");
+
+        assertThat(checkouts).hasValue(1);
+    }
+
+    private List<IdempotentCheckout.Result> submitConcurrently(IdempotentCheckout idempotentCheckout, String key) throws Exception {
+        return submitConcurrently(idempotentCheckout, key, this::slowCheckout);
+    }
+
+    private List<IdempotentCheckout.Result> submitConcurrently(IdempotentCheckout idempotentCheckout, String key,
+                                                               Supplier<Orders> checkout) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotentCheckout.Result>> futures = new ArrayList<>(DUPLICATES);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < DUPLICATES; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return idempotentCheckout.execute("user1", key, REQUEST, checkout);
+                }));
+            }
+            start.countDown();
+            List<IdempotentCheckout.Result> results = new ArrayList<>(DUPLICATES);
+            for (Future<IdempotentCheckout.Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private IdempotentCheckout checkout(IdempotencyStore store) {
+        return new IdempotentCheckout(store, orderService, new ObjectMapper(), taskScheduler,
+                Duration.ofSeconds(10), Duration.ofSeconds(5), Duration.ofHours(1));
+    }
+
+    /**
+     * A checkout behind admission control, as OrderController passes it.
+     */
+    private Supplier<Orders> admitted(CheckoutAdmissionControl admission) {
+        return () -> admission.admit("user1", this::slowCheckout);
+    }
+
+    private CheckoutAdmissionControl admission(double ratePerSecond, int burst, int concurrencyLimit) {
+        return new CheckoutAdmissionControl(meterRegistry, true, ratePerSecond, burst, 100,
+                concurrencyLimit, concurrencyLimit, concurrencyLimit, 2.0, 0.9, 1000);
+    }
+
+    private double admissions(String result) {
+        return meterRegistry.get("orders.admission.requests").tag("result", result).counter().count();
+    }
+
+    private Orders slowCheckout() {
+        return checkoutTaking(100); // a cart fetch plus insert, long enough for every duplicate to collide
+    }
+
+    private Orders checkoutTaking(long millis) {
+        checkouts.incrementAndGet();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return OrderFixtures.order("user1").build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.orderservice.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Request throughput bound by logging alone, for the old default setup and the prod profile.
+ * Each simulated checkout logs what the real one does:
+ * <ul>
+ *     <li>default: synchronous pattern console output of the controller and service INFO lines, plus
+ *     the three formatted statements show-sql prints to stdout (order, items batch, outbox event);</li>
+ *     <li>prod: the same INFO lines through the request sampling filter and an async JSON (ECS)
+ *     appender, and no SQL output.</li>
+ * </ul>
+ * Output goes to a file rather than the terminal, so the numbers are a lower bound on the real gap.
+ * Opt-in: {@code mvn test -Dbenchmarks=true -Dtest=LoggingProfileThroughputBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class LoggingProfileThroughputBenchmarkTest {
+
+    private static final int REQUESTS = 200_000;
+    private static final int CONCURRENCY = 64;
+
+    private static final String FORMATTED_INSERT = """
+            Hibernate:\s
+                insert\s
+                into
+                    orders
+                    (created_at, city, country, state, street, zip_code, status, total_amount, updated_at, user_id, version, id)\s
+                values
+                    (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    @Test
+    void defaultVersusProdLoggingThroughput() throws Exception {
+        Path dir = Files.createDirectories(Path.of("target", "logging-benchmark"));
+
+        double defaultRate;
+        try (FileOutputStream out = new FileOutputStream(dir.resolve("default.log").toFile());
+             PrintStream sqlOut = new PrintStream(out, true)) {
+            LoggerContext context = defaultContext(out);
+            defaultRate = run(context, sqlOut);
+            context.stop();
+        }
+
+        double prodRate;
+        try (FileOutputStream out = new FileOutputStream(dir.resolve("prod.log").toFile())) {
+            LoggerContext context = prodContext(out);
+            prodRate = run(context, null);
+            context.stop(); // drains the async queue
+        }
+
+        log.info("requests/s default logging={} prod logging={} ({}x)",
+                Math.round(defaultRate), Math.round(prodRate), Math.round(prodRate / defaultRate * 10) / 10.0);
+        assertThat(prodRate).isGreaterThan(defaultRate);
+    }
+
+    private double run(LoggerContext context, PrintStream sqlOut) throws Exception {
+        Logger controllerLog = context.getLogger("com.orderservice.controller.OrderController");
+        Logger serviceLog = context.getLogger("com.orderservice.service.OrderServiceImpl");
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+            for (int w = 0; w < CONCURRENCY; w++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < REQUESTS / CONCURRENCY; i++) {
+                        simulatedCheckout(controllerLog, serviceLog, sqlOut);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return REQUESTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static void simulatedCheckout(Logger controllerLog, Logger serviceLog, PrintStream sqlOut) {
+        String orderId = UUID.randomUUID().toString();
+        MDC.put("traceId", orderId.replace("-", ""));
+        try {
+            controllerLog.info("Received order creation request for user {} from cart {}", "user1", "cart-42");
+            if (sqlOut != null) {
+                for (int statement = 0; statement < 3; statement++) {
+                    sqlOut.println(FORMATTED_INSERT); // show-sql writes straight to stdout
+                }
+            }
+            serviceLog.info("Order {} created for user {} from cart {}. Status: {}", orderId, "user1", "cart-42", "PENDING");
+        } finally {
+            MDC.remove("traceId");
+        }
+    }
+
+    private static LoggerContext defaultContext(FileOutputStream out) {
+        LoggerContext context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        // Spring Boot's console pattern, minus colour codes (and with a fixed pid)
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 12345 --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        attach(context, outputAppender(context, encoder, out));
+        return context;
+    }
+
+    private static LoggerContext prodContext(FileOutputStream out) {
+        LoggerContext context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        RequestLogSamplingFilter sampling = new RequestLogSamplingFilter();
+        sampling.addLoggerPrefix("com.orderservice.controller");
+        sampling.addLoggerPrefix("com.orderservice.service");
+        sampling.setRate(0.01);
+        sampling.setContext(context);
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(outputAppender(context, encoder, out));
+        async.start();
+        attach(context, async);
+        return context;
+    }
+
+    private static Appender<ILoggingEvent> outputAppender(LoggerContext context, Encoder<ILoggingEvent> encoder,
+                                                          FileOutputStream out) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new NonClosingOutputStream(out));
+        appender.start();
+        return appender;
+    }
+
+    private static void attach(LoggerContext context, Appender<ILoggingEvent> appender) {
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    /**
+     * Lets the appender be stopped without closing the shared file stream under the SQL PrintStream.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(FileOutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.orderservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger serviceLogger = context.getLogger("com.orderservice.service.OrderServiceImpl");
+    private final Logger otherLogger = context.getLogger("org.hibernate.SQL_SLOW");
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void dropsRequestInfoLogsButKeepsWarningsAndOtherLoggers() {
+        RequestLogSamplingFilter filter = filter(0.0);
+
+        assertThat(decide(filter, serviceLogger, Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(filter, serviceLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, serviceLogger, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, otherLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void samplesWholeRequestsByTraceId() {
+        RequestLogSamplingFilter filter = filter(0.5);
+        int kept = 0;
+        for (int request = 0; request < 2_000; request++) {
+            MDC.put("traceId", Integer.toHexString(request * 7919));
+            FilterReply first = decide(filter, serviceLogger, Level.INFO);
+            for (int line = 0; line < 5; line++) {
+                assertThat(decide(filter, serviceLogger, Level.INFO)).isEqualTo(first);
+            }
+            if (first == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        assertThat(kept).isBetween(800, 1_200);
+    }
+
+    private RequestLogSamplingFilter filter(double rate) {
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter();
+        filter.addLoggerPrefix("com.orderservice.controller");
+        filter.addLoggerPrefix("com.orderservice.service");
+        filter.setRate(rate);
+        return filter;
+    }
+
+    private static FilterReply decide(RequestLogSamplingFilter filter, Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message", null, null);
+    }
+}
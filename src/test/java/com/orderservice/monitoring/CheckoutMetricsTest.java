@@ -0,0 +1,55 @@
+package com.orderservice.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckoutMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CheckoutMetrics checkoutMetrics = new CheckoutMetrics(observationRegistry(), meterRegistry);
+
+    @Test
+    void phasesAreTimedInsideTheCheckout() {
+        String result = checkoutMetrics.observeCheckout(() -> {
+            checkoutMetrics.observePhase(CheckoutMetrics.CART_FETCH, () -> "cart");
+            return checkoutMetrics.observePhase(CheckoutMetrics.DB_SAVE, () -> "order");
+        });
+        checkoutMetrics.recordItemCount(3);
+
+        assertThat(result).isEqualTo("order");
+        assertThat(meterRegistry.get("orders.checkout").tag("error", "none").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.checkout.phase").tag("phase", CheckoutMetrics.CART_FETCH).timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("orders.checkout.phase").tag("phase", CheckoutMetrics.DB_SAVE).timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("orders.checkout.items").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void failedPhaseIsTaggedWithTheError() {
+        assertThatThrownBy(() -> checkoutMetrics.observeCheckout(() ->
+                checkoutMetrics.observePhase(CheckoutMetrics.CART_FETCH, () -> {
+                    throw new IllegalStateException("cart-service down");
+                })))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("orders.checkout.phase")
+                .tags("phase", CheckoutMetrics.CART_FETCH, "error", "IllegalStateException").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("orders.checkout").tag("error", "IllegalStateException").timer().count())
+                .isEqualTo(1);
+    }
+
+    private ObservationRegistry observationRegistry() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return registry;
+    }
+}
@@ -0,0 +1,107 @@
+package com.orderservice.outbox;
+
+import com.orderservice.model.OrderEvent;
+import com.orderservice.model.OrderEventType;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.util.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Relay behaviour against a real (H2) outbox table. The throughput run is opt-in:
+ * {@code mvn test -Dbenchmarks=true -Dtest=OutboxRelayThroughputTest}.
+ */
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the relay manages its own transactions
+class OutboxRelayThroughputTest {
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void relayPublishesEveryPendingEventOnceInOrder() {
+        orderEventRepository.deleteAll();
+        insertPendingEvents(1_234);
+        InMemoryOrderEventSink sink = new InMemoryOrderEventSink();
+
+        relay(sink, 500).relay();
+
+        assertThat(sink.events()).hasSize(1_234);
+        assertThat(sink.events()).extracting(OrderEvent::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(orderEventRepository.countByPublishedAtIsNull()).isZero();
+    }
+
+    @Test
+    void failedPublishLeavesTheBatchPending() {
+        orderEventRepository.deleteAll();
+        insertPendingEvents(10);
+
+        relay(events -> {
+            throw new IllegalStateException("broker down");
+        }, 500).relay();
+
+        InMemoryOrderEventSink sink = new InMemoryOrderEventSink();
+        relay(sink, 500).relay();
+        assertThat(sink.events()).hasSize(10);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 200, 500, 2_000})
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void relayThroughputByBatchSize(int batchSize) {
+        orderEventRepository.deleteAll();
+        int events = 50_000;
+        insertPendingEvents(events);
+        InMemoryOrderEventSink sink = new InMemoryOrderEventSink();
+
+        long start = System.nanoTime();
+        relay(sink, batchSize).relay();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertThat(sink.events()).hasSize(events);
+        log.info("batchSize={} events/s={}", batchSize, Math.round(events / seconds));
+    }
+
+    private OutboxRelay relay(OrderEventSink sink, int batchSize) {
+        return new OutboxRelay(orderEventRepository, sink, transactionManager, new SimpleMeterRegistry(),
+                batchSize, Duration.ofDays(7));
+    }
+
+    private void insertPendingEvents(int count) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<OrderEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String orderId = UuidV7Generator.nextId();
+                events.add(OrderEvent.builder()
+                        .id(UuidV7Generator.nextId())
+                        .aggregateId(orderId)
+                        .eventType(OrderEventType.ORDER_CREATED)
+                        .payload("{\"orderId\":\"" + orderId + "\"}")
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+            orderEventRepository.saveAll(events);
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.orderservice.repository;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.Orders;
+import com.orderservice.util.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures order inserts per second for growing cart sizes through the JPA write path.
+ * Run with {@code mvn test -Dbenchmarks=true -Dtest=OrderInsertBenchmarkTest}; point
+ * {@code spring.datasource.url} at MySQL to get production-like numbers (defaults to H2).
+ */
+@Slf4j
+@DataJpaTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBenchmarkTest {
+
+    private static final int ORDERS_PER_RUN = 2_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20, 50})
+    void insertsPerSecondByCartSize(int cartSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= ORDERS_PER_RUN; i++) {
+            orderRepository.save(newOrder(cartSize));
+            if (i % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long rows = (long) ORDERS_PER_RUN * (cartSize + 1);
+        log.info("cartSize={} orders/s={} rows/s={} statements={} entityLoads={}",
+                cartSize,
+                Math.round(ORDERS_PER_RUN / seconds),
+                Math.round(rows / seconds),
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount());
+
+        // Assigned ids + Persistable: no merge-style SELECT before each insert.
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // Batching: far fewer prepared statements than inserted rows.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(rows);
+    }
+
+    private static Orders newOrder(int cartSize) {
+        Orders order = OrderFixtures.order("bench-user")
+                .totalAmount(BigDecimal.valueOf(cartSize * 10L))
+                .build();
+        for (int i = 0; i < cartSize; i++) {
+            order.addOrderItem(OrderItem.builder()
+                    .id(UuidV7Generator.nextId())
+                    .productId("product-" + i)
+                    .productName("Product " + i)
+                    .quantity(1)
+                    .price(BigDecimal.TEN)
+                    .subtotal(BigDecimal.TEN)
+                    .build());
+        }
+        return order;
+    }
+}
@@ -0,0 +1,85 @@
+package com.orderservice.security;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.exception.OrderNotFoundException;
+import com.orderservice.model.Address;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.projection.OrderRow;
+import com.orderservice.service.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderAccessEvaluatorTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderCache orderCache = mock(OrderCache.class);
+
+    private OrderAccessEvaluator orderAccess;
+
+    @BeforeEach
+    void setUp() {
+        OrderServiceImpl orderService = new OrderServiceImpl();
+        ReflectionTestUtils.setField(orderService, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(orderService, "orderCache", orderCache);
+        // A fresh memo per test plays the role of one HTTP request.
+        orderAccess = new OrderAccessEvaluator(orderService, new OrderLookupMemo());
+
+        when(orderCache.get(anyString())).thenReturn(Optional.empty());
+        when(orderRepository.findOrderRowById("order-1")).thenReturn(Optional.of(row("order-1", "user1")));
+        when(orderRepository.findItemRowsByOrderIds(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void otherUserIsDenied() {
+        assertThat(orderAccess.canView(user("user2", "ROLE_USER"), "order-1")).isFalse();
+    }
+
+    @Test
+    void ownerCheckAllowsTheOwnerOnly() {
+        when(orderRepository.findUserIdById("order-1")).thenReturn(Optional.of("user1"));
+
+        assertThat(orderAccess.isOwner(user("user1", "ROLE_USER"), "order-1")).isTrue();
+        assertThat(orderAccess.isOwner(user("user2", "ROLE_USER"), "order-1")).isFalse();
+        assertThat(orderAccess.isOwner(user("admin", "ROLE_ADMIN"), "order-1")).isTrue();
+    }
+
+    @Test
+    void ownerCheckOfUnknownOrderIsNotFound() {
+        assertThatThrownBy(() -> orderAccess.isOwner(user("user1", "ROLE_USER"), "missing"))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    @Test
+    void unknownOrderIsNotFound() {
+        assertThatThrownBy(() -> orderAccess.canView(user("user1", "ROLE_USER"), "missing"))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    private static Authentication user(String name, String... authorities) {
+        return new UsernamePasswordAuthenticationToken(name, "n/a", AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    private static OrderRow row(String id, String userId) {
+        Address address = OrderFixtures.address();
+        return new OrderRow(id, userId, OrderStatus.PENDING, BigDecimal.TEN, address.getStreet(), address.getCity(),
+                address.getState(), address.getZipCode(), address.getCountry(), LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,197 @@
+package com.orderservice.security;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.admission.CheckoutAdmissionControl;
+import com.orderservice.async.AsyncCheckoutProcessor;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceGateway;
+import com.orderservice.config.SecurityConfig;
+import com.orderservice.controller.OrderController;
+import com.orderservice.export.OrderExporter;
+import com.orderservice.idempotency.IdempotentCheckout;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.service.CheckoutPriceValidator;
+import com.orderservice.service.OrderGroupCommitter;
+import com.orderservice.service.OrderServiceImpl;
+import com.orderservice.service.OrderStatusService;
+import com.orderservice.service.UserOrderSummaryRebuilder;
+import com.orderservice.service.UserOrderSummaryService;
+import com.orderservice.util.UuidV7Generator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements an order request costs through the real {@code @PreAuthorize} check
+ * and handler, against H2. The order cache is mocked out (always a miss), so every read shows.
+ */
+@WebMvcTest(OrderController.class)
+@AutoConfigureDataJpa
+@AutoConfigureTestDatabase
+@Import({SecurityConfig.class, OrderAccessEvaluator.class, OrderLookupMemo.class, OrderServiceImpl.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderAccessQueryCountTest {
+
+    @MockitoBean
+    private IdempotentCheckout idempotentCheckout;
+
+    @MockitoBean
+    private OrderStatusService orderStatusService;
+
+    @MockitoBean
+    private OrderExporter orderExporter;
+
+    @MockitoBean
+    private UserOrderSummaryService userOrderSummaryService;
+
+    @MockitoBean
+    private UserOrderSummaryRebuilder userOrderSummaryRebuilder;
+
+    @MockitoBean
+    private CheckoutAdmissionControl checkoutAdmission;
+
+    @MockitoBean
+    private AsyncCheckoutProcessor asyncCheckout;
+
+    @MockitoBean
+    private CartServiceGateway cartServiceGateway;
+
+    @MockitoBean
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @MockitoBean
+    private CheckoutPriceValidator checkoutPriceValidator;
+
+    @MockitoBean
+    private OrderCache orderCache;
+
+    @MockitoBean
+    private CheckoutMetrics checkoutMetrics;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        Orders order = OrderFixtures.order("user1").build();
+        order.addOrderItem(OrderItem.builder()
+                .id(UuidV7Generator.nextId())
+                .productId("product-1")
+                .productName("Product 1")
+                .quantity(1)
+                .price(BigDecimal.TEN)
+                .subtotal(BigDecimal.TEN)
+                .build());
+        orderId = orderRepository.save(order).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void ownerViewLoadsTheOrderOnceForTheCheckAndTheHandler() throws Exception {
+        mockMvc.perform(get("/api/orders/order/{orderId}", orderId).with(as("user1", "ROLE_USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(orderId));
+
+        // The order row and its items, read once by @orderAccess.canView and reused by the handler.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void adminViewSkipsTheCheckAndLoadsOnceInTheHandler() throws Exception {
+        mockMvc.perform(get("/api/orders/order/{orderId}", orderId).with(as("admin", "ROLE_ADMIN", "ROLE_USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value("user1"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void ownerStatusPollReadsOnlyTheOwnerAndTheStatus() throws Exception {
+        mockMvc.perform(get("/api/orders/order/{orderId}/status", orderId).with(as("user1", "ROLE_USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        // select user_id ... for @orderAccess.isOwner, select status ... for the handler; no order row, no items.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void adminStatusPollReadsOnlyTheStatus() throws Exception {
+        mockMvc.perform(get("/api/orders/order/{orderId}/status", orderId).with(as("admin", "ROLE_ADMIN", "ROLE_USER")))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void otherUsersStatusPollIsDeniedAfterReadingOnlyTheOwner() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/order/{orderId}/status", orderId)
+                        .with(as("user2", "ROLE_USER")))
+                .andReturn();
+
+        assertThat(result.getResolvedException()).isInstanceOf(AccessDeniedException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void statusPollOfUnknownOrderIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/orders/order/{orderId}/status", "missing").with(as("user1", "ROLE_USER")))
+                .andExpect(status().isNotFound());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Authenticates the request the way a login would: through the security context stored in the session.
+     */
+    private static RequestPostProcessor as(String username, String... authorities) {
+        return request -> {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    username, "n/a", AuthorityUtils.createAuthorityList(authorities)));
+            request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceGateway;
+import com.orderservice.dto.BulkOrderLookupRequest;
+import com.orderservice.dto.BulkOrderLookupResult;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.security.OrderAccessEvaluator;
+import com.orderservice.security.OrderLookupMemo;
+import com.orderservice.util.UuidV7Generator;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What a downstream service pays to fetch {@value ORDERS} orders: one {@code GET /order/{orderId}}
+ * per order (authorization check plus handler, sharing one load per request) versus one
+ * {@code POST /lookup}. The cache is empty, so every order comes from the database.
+ * Opt-in: {@code mvn test -Dbenchmarks=true -Dtest=BulkOrderLookupBenchmarkTest}.
+ */
+@Slf4j
+@DataJpaTest
+@Import(OrderServiceImpl.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // each call runs in its own transaction, as over HTTP
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BulkOrderLookupBenchmarkTest {
+
+    private static final int ORDERS = BulkOrderLookupRequest.MAX_ORDER_IDS;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @MockitoBean
+    private CartServiceGateway cartServiceGateway;
+
+    @MockitoBean
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @MockitoBean
+    private CheckoutPriceValidator checkoutPriceValidator;
+
+    @MockitoBean
+    private OrderCache orderCache;
+
+    @MockitoBean
+    private CheckoutMetrics checkoutMetrics;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void oneBulkLookupOutrunsSingleCalls() {
+        List<String> ids = insertOrders();
+        Authentication shipping = new UsernamePasswordAuthenticationToken("shipping", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        List<OrderResponse> single = new ArrayList<>(ORDERS);
+        for (String id : ids) {
+            OrderAccessEvaluator orderAccess = new OrderAccessEvaluator(orderService, new OrderLookupMemo());
+            assertThat(orderAccess.canView(shipping, id)).isTrue();
+            single.add(orderAccess.authorizedOrder(id));
+        }
+        double singleMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        OrderAccessEvaluator orderAccess = new OrderAccessEvaluator(orderService, new OrderLookupMemo());
+        Map<String, OrderResponse> loaded = orderService.loadOrderResponses(ids);
+        loaded.values().removeIf(order -> !orderAccess.canViewLoaded(shipping, order));
+        BulkOrderLookupResult bulk = BulkOrderLookupResult.of(ids, loaded);
+        double bulkMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        log.info("{} orders: single calls {} ms / {} statements, bulk lookup {} ms / {} statements",
+                ORDERS, Math.round(singleMillis), singleStatements, Math.round(bulkMillis), bulkStatements);
+        assertThat(bulk.getFound()).isEqualTo(ORDERS);
+        assertThat(bulk.getOrders()).extracting(entry -> entry.getOrder().getId()).containsExactlyElementsOf(ids);
+        assertThat(bulk.getOrders()).extracting(entry -> entry.getOrder()).containsExactlyElementsOf(single);
+        assertThat(bulkStatements).isLessThan(singleStatements / 100);
+        assertThat(bulkMillis).isLessThan(singleMillis);
+    }
+
+    private List<String> insertOrders() {
+        List<Orders> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Orders order = OrderFixtures.order("user" + i % 50)
+                    .totalAmount(BigDecimal.valueOf(30))
+                    .build();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                order.addOrderItem(OrderItem.builder()
+                        .id(UuidV7Generator.nextId())
+                        .productId("product-" + j)
+                        .productName("Product " + j)
+                        .quantity(1)
+                        .price(BigDecimal.TEN)
+                        .subtotal(BigDecimal.TEN)
+                        .build());
+            }
+            orders.add(order);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> orderRepository.saveAll(orders));
+        return orders.stream().map(Orders::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.orderservice.service;
+
+import com.orderservice.cache.ProductCache;
+import com.orderservice.dto.ProductResponse;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.exception.CartPriceMismatchException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CheckoutPriceValidatorTest {
+
+    private final ProductCache productCache = mock(ProductCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CheckoutPriceValidator validator = new CheckoutPriceValidator(productCache, meterRegistry, true);
+
+    @Test
+    void cartWithCurrentPricesPasses() {
+        catalog(true, product(1, "10.00"), product(2, "5.50"));
+
+        assertThatCode(() -> validator.validate("cart-1", List.of(item("1", "10"), item("2", "5.50"))))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void changedPriceRejectsTheCheckout() {
+        catalog(true, product(1, "12.00"), product(2, "5.50"));
+
+        assertThatThrownBy(() -> validator.validate("cart-1", List.of(item("1", "10.00"), item("2", "5.50"))))
+                .isInstanceOf(CartPriceMismatchException.class)
+                .hasMessageContaining("1 (cart 10.00, current 12.00)");
+        assertThat(checks("rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    void unknownProductRejectsTheCheckout() {
+        catalog(true, product(1, "10.00"));
+
+        assertThatThrownBy(() -> validator.validate("cart-1", List.of(item("1", "10.00"), item("9", "1.00"))))
+                .isInstanceOf(CartPriceMismatchException.class)
+                .hasMessageContaining("9 (unknown product)");
+    }
+
+    @Test
+    void productsThatCouldNotBeLoadedAreLetThroughUnverified() {
+        catalog(false, product(1, "10.00"));
+
+        assertThatCode(() -> validator.validate("cart-1", List.of(item("1", "10.00"), item("2", "5.50"))))
+                .doesNotThrowAnyException();
+        assertThat(checks("unverified")).isEqualTo(1.0);
+    }
+
+    @Test
+    void disabledValidationSkipsTheLookup() {
+        new CheckoutPriceValidator(productCache, meterRegistry, false).validate("cart-1", List.of(item("1", "99.00")));
+
+        verifyNoInteractions(productCache);
+    }
+
+    private void catalog(boolean complete, ProductResponse... products) {
+        Map<String, ProductResponse> byId = new HashMap<>();
+        for (ProductResponse product : products) {
+            byId.put(String.valueOf(product.getProductId()), product);
+        }
+        when(productCache.getAll(anyCollection())).thenReturn(new ProductCache.ProductLookup(byId, complete));
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("orders.checkout.price_checks").tag("result", result).counter().count();
+    }
+
+    private static ProductResponse product(long id, String price) {
+        return new ProductResponse(id, "Product " + id, null, new BigDecimal(price), null);
+    }
+
+    private static CartItemDTO item(String productId, String price) {
+        CartItemDTO item = new CartItemDTO();
+        item.setProductId(productId);
+        item.setPrice(new BigDecimal(price));
+        item.setQuantity(1);
+        return item;
+    }
+}
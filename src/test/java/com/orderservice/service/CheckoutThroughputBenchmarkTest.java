@@ -0,0 +1,99 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceClient;
+import com.orderservice.client.CartServiceGateways;
+import com.orderservice.dto.cart.CartDTO;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout throughput on a Tomcat-sized platform pool vs. virtual threads while the cart-service
+ * call is simulated at 50-200 ms. Run with {@code mvn test -Dbenchmarks=true -Dtest=CheckoutThroughputBenchmarkTest}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CheckoutThroughputBenchmarkTest {
+
+    private static final int CHECKOUTS = 4_000;
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    @Test
+    void virtualThreadsOutrunThePlatformPoolWhenCartServiceIsSlow() throws Exception {
+        OrderServiceImpl orderService = orderServiceWithSlowCart();
+
+        double platform = run(orderService, Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS));
+        double virtual = run(orderService, Executors.newVirtualThreadPerTaskExecutor());
+
+        log.info("checkouts/s platform({} threads)={} virtual={}", TOMCAT_DEFAULT_MAX_THREADS,
+                Math.round(platform), Math.round(virtual));
+        assertThat(virtual).isGreaterThan(platform);
+    }
+
+    private static double run(OrderServiceImpl orderService, ExecutorService executor) throws Exception {
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<Orders>> results = new ArrayList<>(CHECKOUTS);
+            for (int i = 0; i < CHECKOUTS; i++) {
+                results.add(executor.submit(() -> orderService.createOrder(OrderFixtures.request("cart-1"), "user1")));
+            }
+            for (Future<Orders> result : results) {
+                result.get();
+            }
+        }
+        return CHECKOUTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static OrderServiceImpl orderServiceWithSlowCart() {
+        CartServiceClient slowCartService = cartId -> {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(50, 201));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CartItemDTO item = new CartItemDTO();
+            item.setProductId("p1");
+            item.setProductName("Product 1");
+            item.setPrice(new BigDecimal("19.99"));
+            item.setQuantity(2);
+            CartDTO cart = new CartDTO();
+            cart.setId(cartId);
+            cart.setCartItems(List.of(item));
+            return cart;
+        };
+
+        OrderGroupCommitter orderGroupCommitter = mock(OrderGroupCommitter.class);
+        when(orderGroupCommitter.persist(any(Orders.class))).then(returnsFirstArg());
+
+        OrderServiceImpl orderService = new OrderServiceImpl();
+        ReflectionTestUtils.setField(orderService, "cartServiceGateway", CartServiceGateways.unbounded(slowCartService));
+        ReflectionTestUtils.setField(orderService, "orderGroupCommitter", orderGroupCommitter);
+        ReflectionTestUtils.setField(orderService, "orderCache", mock(OrderCache.class));
+        ReflectionTestUtils.setField(orderService, "checkoutMetrics",
+                new CheckoutMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(orderService, "checkoutPriceValidator", mock(CheckoutPriceValidator.class));
+        return orderService;
+    }
+}
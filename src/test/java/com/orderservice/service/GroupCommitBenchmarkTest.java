@@ -0,0 +1,162 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.Orders;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import com.orderservice.util.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout writes per second and their latency, one transaction per checkout versus group
+ * commit, with {@value CLIENTS} concurrent checkouts. In production each commit waits for the
+ * database's durable log flush, one flush at a time; H2 in memory has no such cost, so write
+ * commits here hold a single simulated log device for {@code benchmark.commit-latency-ms}
+ * (default 1 ms). Against MySQL, point {@code spring.datasource.url} at it and set the latency to 0.
+ * Opt-in: {@code mvn test -Dbenchmarks=true -Dtest=GroupCommitBenchmarkTest}.
+ */
+@Slf4j
+@DataJpaTest
+@Import({OrderWriter.class, OrderEventFactory.class, ReadYourWritesTracker.class, UserOrderSummaryService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // each checkout commits on its own, as over HTTP
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class GroupCommitBenchmarkTest {
+
+    private static final int CLIENTS = 64;
+    private static final int CHECKOUTS_PER_CLIENT = 50;
+    private static final int USERS = 1_000;
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private UserOrderSummaryRepository summaryRepository;
+
+    @Test
+    void groupCommitWritesMoreCheckoutsPerSecond() {
+        Run perCheckout = run(new OrderGroupCommitter(orderWriter, new SimpleMeterRegistry(),
+                false, 1, Duration.ZERO, 1));
+        Run grouped = run(new OrderGroupCommitter(orderWriter, new SimpleMeterRegistry(),
+                true, 32, Duration.ofMillis(2), 2));
+
+        log.info("One transaction per checkout: {}", perCheckout);
+        log.info("Group commit:                 {}", grouped);
+        assertThat(grouped.perSecond()).isGreaterThan(perCheckout.perSecond());
+    }
+
+    private Run run(OrderGroupCommitter committer) {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        summaryRepository.deleteAll();
+        committer.start();
+
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    for (int i = 0; i < CHECKOUTS_PER_CLIENT; i++) {
+                        Orders order = order("user-" + (client * CHECKOUTS_PER_CLIENT + i) % USERS);
+                        long checkoutStart = System.nanoTime();
+                        committer.persist(order);
+                        latencies.add(System.nanoTime() - checkoutStart);
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        committer.stop();
+
+        assertThat(orderRepository.count()).isEqualTo((long) CLIENTS * CHECKOUTS_PER_CLIENT);
+        List<Long> sorted = new ArrayList<>(latencies);
+        sorted.sort(null);
+        return new Run(Math.round(sorted.size() / seconds), millis(sorted, 0.50), millis(sorted, 0.99));
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        return sorted.get((int) Math.ceil(quantile * sorted.size()) - 1) / 1_000_000.0;
+    }
+
+    private static Orders order(String userId) {
+        List<CartItemDTO> items = new ArrayList<>();
+        for (int j = 0; j < 3; j++) {
+            CartItemDTO item = new CartItemDTO();
+            item.setProductId(UuidV7Generator.nextId());
+            item.setProductName("Product " + j);
+            item.setPrice(new BigDecimal("9.99"));
+            item.setQuantity(j + 1);
+            items.add(item);
+        }
+        return OrderAssembler.newOrder(UuidV7Generator.nextId(), userId, OrderFixtures.addressDto(), items);
+    }
+
+    private record Run(long perSecond, double p50Millis, double p99Millis) {
+    }
+
+    @TestConfiguration
+    static class SimulatedLogFlush {
+
+        private static final long COMMIT_LATENCY_NANOS =
+                TimeUnit.MILLISECONDS.toNanos(Long.getLong("benchmark.commit-latency-ms", 1));
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            ReentrantLock logDevice = new ReentrantLock(true);
+            return new JpaTransactionManager(entityManagerFactory) {
+                @Override
+                protected void doCommit(DefaultTransactionStatus status) {
+                    super.doCommit(status);
+                    if (COMMIT_LATENCY_NANOS > 0 && !status.isReadOnly()) {
+                        logDevice.lock();
+                        try {
+                            LockSupport.parkNanos(COMMIT_LATENCY_NANOS);
+                        } finally {
+                            logDevice.unlock();
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
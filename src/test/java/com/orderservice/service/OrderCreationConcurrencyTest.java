@@ -0,0 +1,108 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceClient;
+import com.orderservice.client.CartServiceGateways;
+import com.orderservice.dto.OrderRequest;
+import com.orderservice.dto.cart.CartDTO;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires thousands of simultaneous checkouts on virtual threads, each against its own cart, and
+ * checks that every order carries exactly its own cart's items and totals.
+ */
+class OrderCreationConcurrencyTest {
+
+    private static final int CHECKOUTS = 5_000;
+
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        // Cart "cart-<n>" has n % 7 + 1 lines; line j costs (n + j).25 and has quantity j + 1.
+        CartServiceClient cartServiceClient = cartId -> {
+            int n = Integer.parseInt(cartId.substring("cart-".length()));
+            CartDTO cart = new CartDTO();
+            cart.setId(cartId);
+            List<CartItemDTO> items = new ArrayList<>();
+            for (int j = 0; j < n % 7 + 1; j++) {
+                CartItemDTO item = new CartItemDTO();
+                item.setProductId(cartId + "-product-" + j);
+                item.setProductName("Product " + j);
+                item.setPrice(new BigDecimal((n + j) + ".25"));
+                item.setQuantity(j + 1);
+                items.add(item);
+            }
+            cart.setCartItems(items);
+            Thread.yield(); // widen the window in which a shared field would be overwritten
+            return cart;
+        };
+
+        OrderGroupCommitter orderGroupCommitter = mock(OrderGroupCommitter.class);
+        when(orderGroupCommitter.persist(any(Orders.class))).then(returnsFirstArg());
+
+        orderService = new OrderServiceImpl();
+        ReflectionTestUtils.setField(orderService, "cartServiceGateway", CartServiceGateways.unbounded(cartServiceClient));
+        ReflectionTestUtils.setField(orderService, "orderGroupCommitter", orderGroupCommitter);
+        ReflectionTestUtils.setField(orderService, "orderCache", mock(OrderCache.class));
+        ReflectionTestUtils.setField(orderService, "checkoutMetrics",
+                new CheckoutMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(orderService, "checkoutPriceValidator", mock(CheckoutPriceValidator.class));
+    }
+
+    @Test
+    void concurrentCheckoutsNeverSeeEachOthersCarts() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Orders>> results = new ArrayList<>(CHECKOUTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int n = 0; n < CHECKOUTS; n++) {
+                OrderRequest request = OrderFixtures.request("cart-" + n);
+                String userId = "user-" + n;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.createOrder(request, userId);
+                }));
+            }
+            start.countDown();
+
+            for (int n = 0; n < CHECKOUTS; n++) {
+                Orders order = results.get(n).get();
+                assertThat(order.getUserId()).isEqualTo("user-" + n);
+                assertThat(order.getOrderItems()).hasSize(n % 7 + 1);
+
+                BigDecimal expectedTotal = BigDecimal.ZERO;
+                for (int j = 0; j < n % 7 + 1; j++) {
+                    OrderItem item = order.getOrderItems().get(j);
+                    BigDecimal expectedSubtotal = new BigDecimal((n + j) + ".25").multiply(BigDecimal.valueOf(j + 1));
+                    assertThat(item.getProductId()).isEqualTo("cart-" + n + "-product-" + j);
+                    assertThat(item.getSubtotal()).isEqualByComparingTo(expectedSubtotal);
+                    expectedTotal = expectedTotal.add(expectedSubtotal);
+                }
+                assertThat(order.getTotalAmount()).isEqualByComparingTo(expectedTotal);
+            }
+        }
+    }
+}
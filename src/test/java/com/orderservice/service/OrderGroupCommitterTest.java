@@ -0,0 +1,152 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.dto.cart.CartItemDTO;
+import com.orderservice.model.Orders;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import com.orderservice.util.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Group commit against a real (H2) database: concurrent checkouts share transactions, and an order
+ * that cannot be saved fails only its own checkout.
+ */
+@DataJpaTest
+@Import({OrderWriter.class, OrderEventFactory.class, ReadYourWritesTracker.class, UserOrderSummaryService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the committer runs its own transactions
+class OrderGroupCommitterTest {
+
+    private static final int CHECKOUTS = 200;
+    private static final int USERS = 10;
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private UserOrderSummaryService summaryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private UserOrderSummaryRepository summaryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        summaryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCheckoutsShareCommits() throws Exception {
+        OrderGroupCommitter committer = committer(50, Duration.ofMillis(20));
+        committer.start();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Orders>> results = new ArrayList<>(CHECKOUTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int n = 0; n < CHECKOUTS; n++) {
+                Orders order = order("user-" + n % USERS, "Product " + n);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return committer.persist(order);
+                }));
+            }
+            start.countDown();
+            for (int n = 0; n < CHECKOUTS; n++) {
+                assertThat(results.get(n).get().getUserId()).isEqualTo("user-" + n % USERS);
+            }
+        }
+        committer.stop();
+
+        assertThat(orderRepository.count()).isEqualTo(CHECKOUTS);
+        assertThat(orderEventRepository.count()).isEqualTo(CHECKOUTS);
+        assertThat(summaryService.getSummary("user-0").getOrderCount()).isEqualTo(CHECKOUTS / USERS);
+        assertThat(groupCommits()).isLessThan(CHECKOUTS / 2);
+    }
+
+    @Test
+    void orderThatCannotBeSavedFailsOnlyItsOwnCheckout() {
+        OrderGroupCommitter committer = committer(5, Duration.ofSeconds(10)); // the group closes when full
+        committer.start();
+
+        List<CompletableFuture<Orders>> good = new ArrayList<>();
+        for (int n = 0; n < 4; n++) {
+            good.add(committer.submit(order("user-" + n, "Product " + n)));
+        }
+        CompletableFuture<Orders> bad = committer.submit(order("user-4", null)); // violates NOT NULL on insert
+
+        good.forEach(CompletableFuture::join);
+        assertThatThrownBy(bad::join).isInstanceOf(CompletionException.class);
+        committer.stop();
+
+        assertThat(groupCommits()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.checkout.group_commit.fallbacks").counter().count()).isEqualTo(1.0);
+        assertThat(orderRepository.count()).isEqualTo(4);
+        assertThat(summaryService.getSummary("user-0").getOrderCount()).isEqualTo(1);
+        assertThat(summaryService.getSummary("user-4").getOrderCount()).isZero();
+    }
+
+    @Test
+    void ordersAreWrittenDirectlyOnceStopped() {
+        OrderGroupCommitter committer = committer(50, Duration.ofMillis(20));
+        committer.start();
+        committer.stop();
+
+        Orders saved = committer.persist(order("user-1", "Product 1"));
+
+        assertThat(orderRepository.findById(saved.getId())).isPresent();
+        assertThat(groupCommits()).isZero();
+    }
+
+    private OrderGroupCommitter committer(int maxBatch, Duration maxWait) {
+        return new OrderGroupCommitter(orderWriter, meterRegistry, true, maxBatch, maxWait, 1);
+    }
+
+    private long groupCommits() {
+        return meterRegistry.get("orders.checkout.group_commit.size").summary().count();
+    }
+
+    private static Orders order(String userId, String productName) {
+        CartItemDTO item = new CartItemDTO();
+        item.setProductId(UuidV7Generator.nextId());
+        item.setProductName(productName);
+        item.setPrice(new BigDecimal("9.99"));
+        item.setQuantity(1);
+        return OrderAssembler.newOrder(UuidV7Generator.nextId(), userId, OrderFixtures.addressDto(), List.of(item));
+    }
+}
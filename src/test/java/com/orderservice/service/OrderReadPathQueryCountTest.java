@@ -0,0 +1,175 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceGateway;
+import com.orderservice.dto.OrderHistoryPage;
+import com.orderservice.dto.OrderItemResponse;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.OrderItem;
+import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.util.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(OrderServiceImpl.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderReadPathQueryCountTest {
+
+    private static final int ORDERS = 25;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @MockitoBean
+    private CartServiceGateway cartServiceGateway;
+
+    @MockitoBean
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @MockitoBean
+    private CheckoutPriceValidator checkoutPriceValidator;
+
+    @MockitoBean
+    private OrderCache orderCache;
+
+    @MockitoBean
+    private CheckoutMetrics checkoutMetrics;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            Orders order = OrderFixtures.order("user1")
+                    .totalAmount(BigDecimal.valueOf(30))
+                    .build();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                order.addOrderItem(OrderItem.builder()
+                        .id(UuidV7Generator.nextId())
+                        .productId("product-" + j)
+                        .productName("Product " + j)
+                        .quantity(1)
+                        .price(BigDecimal.TEN)
+                        .subtotal(BigDecimal.TEN)
+                        .build());
+            }
+            orderRepository.save(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageOfOrdersWithItemsCostsTwoStatements() {
+        List<OrderResponse> page = orderService.getOrderResponsesByUserId("user1", 0, 20, "createdAt", "desc");
+
+        assertThat(page).hasSize(20);
+        assertThat(page).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void itemsComeBackInTheOrderTheyWereAdded() {
+        List<OrderResponse> page = orderService.getOrderResponsesByUserId("user1", 0, 20, "createdAt", "desc");
+
+        // Item ids are time-ordered, so id order is the order the items were added in.
+        assertThat(page).allSatisfy(order -> assertThat(order.getOrderItems())
+                .extracting(OrderItemResponse::getProductId)
+                .containsExactly("product-0", "product-1", "product-2"));
+    }
+
+    @Test
+    void lastPartialPageStillCostsTwoStatements() {
+        List<OrderResponse> page = orderService.getOrderResponsesByUserId("user1", 1, 20, "createdAt", "desc");
+
+        assertThat(page).hasSize(ORDERS - 20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyPageSkipsTheItemQuery() {
+        List<OrderResponse> page = orderService.getOrderResponsesByUserId("nobody", 0, 20, "createdAt", "desc");
+
+        assertThat(page).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void historyCursorWalksEveryOrderOnceWithoutCounting() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            OrderHistoryPage page = orderService.getOrderHistory("user1", cursor, 10);
+            page.getOrders().forEach(order -> seen.add(order.getId()));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(ORDERS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void historyPageSizeIsClampedToTheAllowedRange() {
+        for (int size : new int[]{0, -5}) {
+            OrderHistoryPage page = orderService.getOrderHistory("user1", null, size);
+
+            assertThat(page.getOrders()).hasSize(1);
+            assertThat(page.getNextCursor()).isNotNull();
+        }
+        assertThat(orderService.getOrderHistory("user1", null, Integer.MAX_VALUE).getOrders()).hasSize(ORDERS);
+    }
+
+    @Test
+    void bulkLookupCostsTwoStatementsPerChunk() {
+        List<String> ids = orderRepository.findAll().stream().map(Orders::getId).toList();
+        entityManager.clear();
+        statistics.clear();
+        List<String> requested = new ArrayList<>(ids);
+        requested.add("missing-order");
+
+        Map<String, OrderResponse> found = orderService.loadOrderResponses(requested);
+
+        assertThat(found).hasSize(ORDERS).containsKeys(ids.toArray(String[]::new));
+        assertThat(found.values()).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
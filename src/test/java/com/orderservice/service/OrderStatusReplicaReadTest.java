@@ -0,0 +1,179 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.client.CartServiceGateway;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.datasource.ReplicaLagMonitor;
+import com.orderservice.datasource.ReplicaRoutingDataSource;
+import com.orderservice.dto.OrderResponse;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.monitoring.CheckoutMetrics;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.projection.OrderStatusVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Reads after a status change with replica routing on, against two embedded databases: the
+ * replica is refreshed from a snapshot of the primary only when a test says so, so it lags
+ * behind every write that follows. The reader is an admin who never wrote, so read-your-writes
+ * pinning does not help.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderServiceImpl.class, OrderStatusService.class, OrderEventFactory.class, ReadYourWritesTracker.class,
+        UserOrderSummaryService.class, OrderStatusReplicaReadTest.RoutingConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the services manage their own transactions
+class OrderStatusReplicaReadTest {
+
+    @MockitoBean
+    private CartServiceGateway cartServiceGateway;
+
+    @MockitoBean
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @MockitoBean
+    private CheckoutPriceValidator checkoutPriceValidator;
+
+    @MockitoBean
+    private CheckoutMetrics checkoutMetrics;
+
+    @MockitoBean
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDatabase")
+    private EmbeddedDatabase primaryDatabase;
+
+    @Autowired
+    @Qualifier("replicaDatabase")
+    private EmbeddedDatabase replicaDatabase;
+
+    @TempDir
+    private Path snapshotDir;
+
+    @Test
+    void readAfterATransitionReturnsAndCachesTheNewStatus() {
+        String orderId = insertOrder();
+        replicate();
+        orderStatusService.transitionStatus(orderId, OrderStatus.PROCESSING);
+        assertThat(readOnly(() -> orderRepository.findStatusVersionById(orderId).orElseThrow()))
+                .extracting(OrderStatusVersion::status).isEqualTo(OrderStatus.PENDING); // the replica lags
+
+        OrderResponse order = orderService.loadOrderResponse(orderId); // cache miss (mock)
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        verify(orderCache).put(argThat(cached -> cached.getStatus() == OrderStatus.PROCESSING));
+        assertThat(readYourWritesTracker.hasRecentWrite("user1")).isTrue();
+    }
+
+    private String insertOrder() {
+        Orders order = OrderFixtures.order("user1").build();
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> orderRepository.save(order));
+        return order.getId();
+    }
+
+    /**
+     * Brings the replica up to date with the primary, as of now.
+     */
+    private void replicate() {
+        String snapshot = snapshotDir.resolve("primary.sql").toString();
+        new JdbcTemplate(primaryDatabase).execute("SCRIPT TO '" + snapshot + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDatabase);
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + snapshot + "'");
+        replicaLagMonitor.checkLag();
+    }
+
+    private <T> T readOnly(Supplier<T> read) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        return readOnlyTx.execute(tx -> read.get());
+    }
+
+    @TestConfiguration
+    static class RoutingConfig {
+
+        @Bean
+        EmbeddedDatabase primaryDatabase() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        EmbeddedDatabase replicaDatabase() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDatabase") EmbeddedDatabase replicaDatabase) {
+            return new ReplicaLagMonitor(Map.of("replica", replicaDatabase), dataSource -> Duration.ZERO,
+                    Duration.ofSeconds(2));
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(@Qualifier("primaryDatabase") EmbeddedDatabase primaryDatabase,
+                              @Qualifier("replicaDatabase") EmbeddedDatabase replicaDatabase,
+                              ReplicaLagMonitor replicaLagMonitor,
+                              ReadYourWritesTracker readYourWritesTracker) {
+            return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDatabase,
+                    Map.of("replica", replicaDatabase), replicaLagMonitor, readYourWritesTracker, () -> "admin",
+                    new SimpleMeterRegistry()));
+        }
+    }
+}
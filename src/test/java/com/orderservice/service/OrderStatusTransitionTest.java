@@ -0,0 +1,220 @@
+package com.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.dto.BulkOrderStatusResult;
+import com.orderservice.exception.InvalidStatusTransitionException;
+import com.orderservice.exception.OrderStatusConflictException;
+import com.orderservice.model.OrderEvent;
+import com.orderservice.model.OrderEventType;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Status transitions against a real (H2) database. The bulk throughput run is opt-in:
+ * {@code mvn test -Dbenchmarks=true -Dtest=OrderStatusTransitionTest}.
+ */
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the service manages its own transactions
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private UserOrderSummaryRepository userOrderSummaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OrderCache orderCache = mock(OrderCache.class);
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentConflictingTransitionsHaveExactlyOneWinner() throws Exception {
+        String orderId = insertOrders(1, OrderStatus.PENDING).getFirst();
+        OrderStatusService service = service(1_000);
+        int writers = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderStatus>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                OrderStatus target = i % 2 == 0 ? OrderStatus.PROCESSING : OrderStatus.CANCELLED;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    service.transitionStatus(orderId, target);
+                    return target;
+                }));
+            }
+            start.countDown();
+        }
+
+        List<OrderStatus> winners = new ArrayList<>();
+        for (Future<OrderStatus> result : results) {
+            try {
+                winners.add(result.get());
+            } catch (Exception e) {
+                assertThat(e.getCause()).isInstanceOfAny(OrderStatusConflictException.class,
+                        InvalidStatusTransitionException.class);
+            }
+        }
+        assertThat(winners).hasSize(1);
+        Orders order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(winners.getFirst());
+        assertThat(order.getVersion()).isEqualTo(1L);
+        assertThat(statusChangedEvents()).hasSize(1);
+    }
+
+    @Test
+    void invalidTransitionIsRejectedWithoutAWrite() {
+        String orderId = insertOrders(1, OrderStatus.PENDING).getFirst();
+
+        assertThatThrownBy(() -> service(1_000).transitionStatus(orderId, OrderStatus.DELIVERED))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+
+        assertThat(orderRepository.findById(orderId).orElseThrow().getVersion()).isZero();
+        assertThat(statusChangedEvents()).isEmpty();
+    }
+
+    @Test
+    void bulkTransitionMovesOnlyEligibleOrders() {
+        List<String> pending = insertOrders(2_400, OrderStatus.PENDING);
+        List<String> delivered = insertOrders(100, OrderStatus.DELIVERED);
+        List<String> requested = new ArrayList<>(pending);
+        requested.addAll(delivered);
+        requested.add("missing-order");
+
+        BulkOrderStatusResult result = service(1_000).bulkTransitionStatus(requested, OrderStatus.PROCESSING);
+
+        assertThat(result.getRequested()).isEqualTo(2_501);
+        assertThat(result.getTransitioned()).isEqualTo(2_400);
+        assertThat(result.getRejectedOrderIds()).hasSize(101).contains("missing-order").containsAll(delivered);
+        assertThat(orderRepository.findAllById(pending))
+                .allSatisfy(order -> {
+                    assertThat(order.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+                    assertThat(order.getVersion()).isEqualTo(1L);
+                });
+        assertThat(statusChangedEvents()).hasSize(2_400);
+    }
+
+    @Test
+    void overlappingBulkTransitionsMoveEachOrderOnce() throws Exception {
+        List<String> orderIds = insertOrders(1_000, OrderStatus.PENDING);
+        OrderStatusService service = service(200);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<BulkOrderStatusResult> processing;
+        Future<BulkOrderStatusResult> cancelled;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            processing = executor.submit(() -> {
+                start.await();
+                return service.bulkTransitionStatus(orderIds, OrderStatus.PROCESSING);
+            });
+            cancelled = executor.submit(() -> {
+                start.await();
+                return service.bulkTransitionStatus(orderIds, OrderStatus.CANCELLED);
+            });
+            start.countDown();
+        }
+
+        // CANCELLED is also reachable from PROCESSING, so the cancel run may legitimately move an
+        // order the other run already moved; what must never happen is a lost or doubled update.
+        List<Orders> orders = orderRepository.findAllById(orderIds);
+        long events = statusChangedEvents().size();
+        assertThat(events).isEqualTo(processing.get().getTransitioned() + cancelled.get().getTransitioned());
+        assertThat(orders).allSatisfy(order ->
+                assertThat(order.getStatus()).isIn(OrderStatus.PROCESSING, OrderStatus.CANCELLED));
+        assertThat(orders.stream().mapToLong(Orders::getVersion).sum()).isEqualTo(events);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void bulkTransitionThroughput() {
+        int orders = 50_000;
+        List<String> orderIds = insertOrders(orders, OrderStatus.PENDING);
+
+        long start = System.nanoTime();
+        BulkOrderStatusResult result = service(1_000).bulkTransitionStatus(orderIds, OrderStatus.PROCESSING);
+        double bulkSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        assertThat(result.getTransitioned()).isEqualTo(orders);
+
+        // Baseline: the load-modify-save loop the fulfilment jobs used, on a tenth of the orders.
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<String> baselineIds = orderIds.subList(0, orders / 10);
+        start = System.nanoTime();
+        for (String orderId : baselineIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Orders order = orderRepository.findById(orderId).orElseThrow();
+                order.setStatus(OrderStatus.SHIPPED);
+                orderRepository.save(order);
+            });
+        }
+        double baselineSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        log.info("bulk orders/s={} load-modify-save orders/s={}",
+                Math.round(orders / bulkSeconds), Math.round(baselineIds.size() / baselineSeconds));
+    }
+
+    private OrderStatusService service(int chunkSize) {
+        OrderEventFactory orderEventFactory = new OrderEventFactory(new ObjectMapper().registerModule(new JavaTimeModule()));
+        return new OrderStatusService(orderRepository, orderEventRepository, orderEventFactory, orderCache,
+                new UserOrderSummaryService(userOrderSummaryRepository, transactionManager),
+                new ReadYourWritesTracker(Duration.ofSeconds(5)), transactionManager, chunkSize);
+    }
+
+    private List<OrderEvent> statusChangedEvents() {
+        return orderEventRepository.findAll().stream()
+                .filter(event -> event.getEventType() == OrderEventType.ORDER_STATUS_CHANGED)
+                .toList();
+    }
+
+    private List<String> insertOrders(int count, OrderStatus status) {
+        List<Orders> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(OrderFixtures.order("user1")
+                    .status(status)
+                    .build());
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> orderRepository.saveAll(orders));
+        return orders.stream().map(Orders::getId).toList();
+    }
+}
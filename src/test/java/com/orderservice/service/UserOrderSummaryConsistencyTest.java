@@ -0,0 +1,198 @@
+package com.orderservice.service;
+
+import com.orderservice.OrderFixtures;
+import com.orderservice.cache.OrderCache;
+import com.orderservice.datasource.ReadYourWritesTracker;
+import com.orderservice.dto.UserOrderSummaryResponse;
+import com.orderservice.model.OrderStatus;
+import com.orderservice.model.Orders;
+import com.orderservice.outbox.OrderEventFactory;
+import com.orderservice.repository.OrderEventRepository;
+import com.orderservice.repository.OrderRepository;
+import com.orderservice.repository.UserOrderSummaryRepository;
+import com.orderservice.repository.projection.UserOrderTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The incrementally maintained summary must always equal an aggregate over the user's orders,
+ * under concurrent checkouts of the same user, status changes and a concurrently running rebuild.
+ */
+@DataJpaTest
+@Import({OrderWriter.class, OrderStatusService.class, OrderEventFactory.class, ReadYourWritesTracker.class,
+        UserOrderSummaryService.class, UserOrderSummaryRebuilder.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the services manage their own transactions
+class UserOrderSummaryConsistencyTest {
+
+    private static final int CHECKOUTS = 200;
+
+    @MockitoBean
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private UserOrderSummaryService summaryService;
+
+    @Autowired
+    private UserOrderSummaryRebuilder rebuilder;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private UserOrderSummaryRepository summaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        summaryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCheckoutsOfOneUserAreAllCounted() throws Exception {
+        List<Orders> created = checkoutConcurrently("user1", CHECKOUTS);
+
+        UserOrderSummaryResponse summary = summaryService.getSummary("user1");
+        assertThat(summary.getOrderCount()).isEqualTo(CHECKOUTS);
+        assertThat(summary.getLifetimeSpend()).isEqualByComparingTo(
+                created.stream().map(Orders::getTotalAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertMatchesOrders("user1");
+    }
+
+    @Test
+    void cancelledAndFailedOrdersLeaveTheLifetimeSpend() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            ids.add(checkout("user1", new BigDecimal(i + "0.00")).getId());
+        }
+        checkout("user2", new BigDecimal("99.99"));
+
+        orderStatusService.transitionStatus(ids.get(0), OrderStatus.CANCELLED);  // -10
+        orderStatusService.transitionStatus(ids.get(1), OrderStatus.PROCESSING); // still counts
+        orderStatusService.bulkTransitionStatus(ids.subList(1, 4), OrderStatus.FAILED); // -20 -30 -40
+
+        UserOrderSummaryResponse summary = summaryService.getSummary("user1");
+        assertThat(summary.getOrderCount()).isEqualTo(6);
+        assertThat(summary.getLifetimeSpend()).isEqualByComparingTo("110.00");
+        assertThat(summaryService.getSummary("user2").getLifetimeSpend()).isEqualByComparingTo("99.99");
+        assertMatchesOrders("user1");
+        assertMatchesOrders("user2");
+    }
+
+    @Test
+    void userWithoutOrdersHasAnEmptySummary() {
+        UserOrderSummaryResponse summary = summaryService.getSummary("nobody");
+
+        assertThat(summary.getOrderCount()).isZero();
+        assertThat(summary.getLifetimeSpend()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(summary.getLastOrderAt()).isNull();
+    }
+
+    @Test
+    void rebuildRepairsDriftAndBackfillsMissingRows() {
+        checkout("user1", new BigDecimal("10.00"));
+        checkout("user1", new BigDecimal("15.00"));
+        checkout("user2", new BigDecimal("20.00"));
+        summaryRepository.findById("user1").ifPresent(summary -> {
+            summary.setOrderCount(42);
+            summaryRepository.save(summary);
+        });
+        summaryRepository.deleteById("user2");
+
+        assertThat(rebuilder.rebuildAll()).isEqualTo(2);
+
+        assertThat(summaryService.getSummary("user1").getOrderCount()).isEqualTo(2);
+        assertThat(summaryService.getSummary("user1").getLifetimeSpend()).isEqualByComparingTo("25.00");
+        assertMatchesOrders("user1");
+        assertMatchesOrders("user2");
+    }
+
+    @Test
+    void rebuildRunningDuringCheckoutsLosesNoOrder() throws Exception {
+        AtomicBoolean checkoutsDone = new AtomicBoolean();
+        Future<?> rebuilds;
+        try (ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor()) {
+            rebuilds = rebuildExecutor.submit(() -> {
+                while (!checkoutsDone.get()) {
+                    rebuilder.rebuildAll();
+                }
+            });
+            try {
+                checkoutConcurrently("user1", CHECKOUTS);
+            } finally {
+                checkoutsDone.set(true);
+            }
+        }
+        rebuilds.get();
+
+        assertThat(summaryService.getSummary("user1").getOrderCount()).isEqualTo(CHECKOUTS);
+        assertMatchesOrders("user1");
+    }
+
+    private List<Orders> checkoutConcurrently(String userId, int checkouts) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Orders>> results = new ArrayList<>(checkouts);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < checkouts; i++) {
+                BigDecimal amount = new BigDecimal(i % 50 + 1 + ".99");
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return checkout(userId, amount);
+                }));
+            }
+            start.countDown();
+        }
+        List<Orders> created = new ArrayList<>(checkouts);
+        for (Future<Orders> result : results) {
+            created.add(result.get());
+        }
+        return created;
+    }
+
+    /**
+     * The write path of OrderServiceImpl#createOrder, minus the cart call.
+     */
+    private Orders checkout(String userId, BigDecimal amount) {
+        return orderWriter.persistNewOrder(OrderFixtures.order(userId)
+                .totalAmount(amount)
+                .build());
+    }
+
+    private void assertMatchesOrders(String userId) {
+        UserOrderTotals expected = orderRepository.summarizeByUserIdIn(List.of(userId), OrderStatus.countingTowardSpend())
+                .getFirst();
+        UserOrderSummaryResponse summary = summaryService.getSummary(userId);
+        assertThat(summary.getOrderCount()).isEqualTo(expected.orderCount());
+        assertThat(summary.getLifetimeSpend()).isEqualByComparingTo(expected.lifetimeSpend());
+        assertThat(summary.getLastOrderAt()).isEqualTo(expected.lastOrderAt());
+    }
+}
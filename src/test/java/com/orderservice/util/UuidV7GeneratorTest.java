@@ -0,0 +1,37 @@
+package com.orderservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void generatesVersion7RfcVariantIds() {
+        UUID id = UuidV7Generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingAsStrings() {
+        String previous = UuidV7Generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            String next = UuidV7Generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void leadingBitsCarryTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertThat(millis).isGreaterThanOrEqualTo(before);
+    }
+}
@@ -0,0 +1,3 @@
+-- Runs on the embedded test database before Hibernate creates the schema. Production runs on
+-- MySQL, and some repository queries use MySQL syntax (INSERT ... ON DUPLICATE KEY UPDATE).
+SET MODE MySQL;